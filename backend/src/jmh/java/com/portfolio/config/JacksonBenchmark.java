@@ -0,0 +1,105 @@
+package com.portfolio.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.model.BlogPost;
+import com.portfolio.model.GalleryImage;
+import com.portfolio.model.Project;
+import com.portfolio.model.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization of the entities the content endpoints return, through the ObjectMapper
+ * JacksonConfig builds on top of Boot's auto-configured builder
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private BlogPost post;
+    private Project project;
+    private GalleryImage image;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Only the Jackson beans, so the mapper carries the same modules and features as in the app
+        context = new SpringApplicationBuilder(JacksonAutoConfiguration.class, JacksonConfig.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run();
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        Set<Tag> tags = new HashSet<>();
+        for (String name : List.of("Spring Boot", "PostgreSQL", "Performance")) {
+            tags.add(new Tag((long) name.length(), name, name.toLowerCase().replace(' ', '-'), new HashSet<>(), now));
+        }
+        post = new BlogPost(1L, "Building a Portfolio with Spring Boot and React", "building-a-portfolio",
+                "## Introduction\n\n" + "A paragraph of markdown with `code` and [links](https://example.com). ".repeat(80),
+                "How the site is put together, from the database up.", true, 1234, null, tags, new HashSet<>(),
+                now, now);
+
+        project = new Project(1L, "Portfolio", "portfolio", "Personal site with a blog, gallery and projects. ".repeat(4),
+                "/uploads/thumb.png", null, "https://github.com/example/portfolio", "https://example.com",
+                List.of("Java", "Spring Boot", "React", "TypeScript", "PostgreSQL"), 1024, true, now, now);
+
+        image = new GalleryImage(1L, "/uploads/photo.jpg", "/uploads/photo-320w.jpg", "Sunset over the bay", 1024, now);
+        Map<String, String> variants = new LinkedHashMap<>();
+        variants.put("320", "/uploads/photo-320w.jpg");
+        variants.put("640", "/uploads/photo-640w.jpg");
+        variants.put("1280", "/uploads/photo-1280w.jpg");
+        image.setVariants(variants);
+        image.setPlaceholder("data:image/jpeg;base64," + "A".repeat(600));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] blogPost() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(post);
+    }
+
+    @Benchmark
+    public byte[] project() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(project);
+    }
+
+    @Benchmark
+    public byte[] galleryImage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(image);
+    }
+}
@@ -0,0 +1,47 @@
+package com.portfolio.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name generation for every new comment. The service shares one Random between request threads,
+ * so the contended run shows what that costs under concurrent posting.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnonymousNameBenchmark {
+
+    private CommentService commentService;
+
+    @Setup
+    public void setUp() {
+        // Name generation touches none of the collaborators
+        commentService = new CommentService(null, null, null, null);
+    }
+
+    @Benchmark
+    public String generateAnonymousName() {
+        return commentService.generateAnonymousName();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateAnonymousNameContended() {
+        return commentService.generateAnonymousName();
+    }
+}
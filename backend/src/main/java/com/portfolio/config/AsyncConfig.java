@@ -0,0 +1,94 @@
+package com.portfolio.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String IMAGE_EXECUTOR = "imageExecutor";
+    public static final String HOME_EXECUTOR = "homeExecutor";
+    public static final String STREAM_EXECUTOR = "streamExecutor";
+
+    @Value("${app.images.workers:2}")
+    private int imageWorkers;
+
+    @Value("${app.images.queue-capacity:16}")
+    private int imageQueueCapacity;
+
+    @Value("${app.home.workers:8}")
+    private int homeWorkers;
+
+    @Value("${app.comments.stream.workers:4}")
+    private int streamWorkers;
+
+    @Value("${app.comments.stream.max-subscribers:10000}")
+    private int maxStreamSubscribers;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Small fixed pool for resizing uploads. The queue is bounded and rejects when full,
+     * so a burst of uploads can't pile decoded images up on the heap.
+     */
+    @Bean(name = IMAGE_EXECUTOR)
+    public ThreadPoolTaskExecutor imageExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageWorkers);
+        executor.setMaxPoolSize(imageWorkers);
+        executor.setQueueCapacity(imageQueueCapacity);
+        executor.setThreadNamePrefix("image-");
+        if (virtualThreads) {
+            // Same bounds on workers and queue, but the workers don't hold carrier threads while waiting on storage
+            executor.setThreadFactory(Thread.ofVirtual().name("image-", 0).factory());
+        }
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Runs the parallel reads behind the home page. When the pool and queue are full the request
+     * thread does the read itself, which degrades to sequential rather than failing.
+     */
+    @Bean(name = HOME_EXECUTOR)
+    public ThreadPoolTaskExecutor homeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(homeWorkers);
+        executor.setMaxPoolSize(homeWorkers);
+        executor.setQueueCapacity(homeWorkers * 4);
+        executor.setThreadNamePrefix("home-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("home-", 0).factory());
+        }
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Writes queued comment events to open streams. Work only exists while a subscriber has
+     * something to send, so a few workers cover thousands of idle connections. Each subscriber has
+     * at most one drain pending, so a queue as large as the subscriber cap only rejects on shutdown.
+     */
+    @Bean(name = STREAM_EXECUTOR)
+    public ThreadPoolTaskExecutor streamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamWorkers);
+        executor.setMaxPoolSize(streamWorkers);
+        executor.setQueueCapacity(maxStreamSubscribers);
+        executor.setThreadNamePrefix("stream-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("stream-", 0).factory());
+        }
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,47 @@
+package com.portfolio.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PROJECTS = "projects";
+    public static final String FEATURED_PROJECTS = "featuredProjects";
+    public static final String TAGS = "tags";
+    public static final String GALLERY = "gallery";
+    public static final String PUBLISHED_POSTS = "publishedPosts";
+
+    @Value("${app.cache.max-weight:10000}")
+    private long maxWeight;
+
+    @Value("${app.cache.expire-after-write:1h}")
+    private Duration expireAfterWrite;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Cached values are mostly lists, so weigh them by element count rather than by entry
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Object key, Object value) -> value instanceof Collection<?> c ? Math.max(1, c.size()) : 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        // Declare caches up front so the actuator binds hit/miss/eviction metrics at startup
+        cacheManager.setCacheNames(List.of(PROJECTS, FEATURED_PROJECTS, TAGS, GALLERY, PUBLISHED_POSTS));
+        cacheManager.setAllowNullValues(false);
+        // Evictions wait for the surrounding transaction to commit, so readers can't re-cache stale rows
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
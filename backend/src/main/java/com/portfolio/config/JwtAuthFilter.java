@@ -17,6 +17,8 @@ import java.util.List;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final List<SimpleGrantedAuthority> OWNER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_OWNER"));
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -27,12 +29,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtUtil.isTokenValid(token)) {
-                String username = jwtUtil.extractUsername(token);
+            jwtUtil.verify(token).ifPresent(username -> {
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        username, null, List.of(new SimpleGrantedAuthority("ROLE_OWNER")));
+                        username, null, OWNER_AUTHORITIES);
                 SecurityContextHolder.getContext().setAuthentication(auth);
-            }
+            });
         }
 
         filterChain.doFilter(request, response);
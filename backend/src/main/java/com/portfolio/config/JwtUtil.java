@@ -1,14 +1,29 @@
 package com.portfolio.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
@@ -19,37 +34,102 @@ public class JwtUtil {
     @Value("${app.jwt.expiration}")
     private long expiration;
 
+    @Value("${app.jwt.verified-cache-size:1000}")
+    private long verifiedCacheSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    // SHA-256 of recently verified tokens, each kept no longer than the token itself is valid
+    private Cache<String, VerifiedToken> verified;
+    private Timer verifyTimer;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwtVerified");
+        verifyTimer = Timer.builder("jwt.verify")
+                .description("Time spent verifying bearer tokens that missed the cache")
+                .register(meterRegistry);
+    }
+
     public String generateToken(String username) {
         return Jwts.builder()
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return getClaims(token).getSubject();
+    /**
+     * Username of a valid, unexpired token; a token seen recently skips signature verification
+     */
+    public Optional<String> verify(String token) {
+        String hash = hash(token);
+        VerifiedToken cached = verified.getIfPresent(hash);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return Optional.of(cached.username());
+        }
+
+        long start = System.nanoTime();
+        try {
+            Optional<VerifiedToken> parsed = parse(token);
+            parsed.ifPresent(value -> verified.put(hash, value));
+            return parsed.map(VerifiedToken::username);
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
-    public boolean isTokenValid(String token) {
+    /**
+     * Full signature and expiry check, bypassing the cache
+     */
+    Optional<VerifiedToken> parse(String token) {
         try {
-            Claims claims = getClaims(token);
-            return claims.getExpiration().after(new Date());
-        } catch (Exception e) {
-            return false;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiresAt = claims.getExpiration();
+            if (expiresAt == null || !expiresAt.after(new Date()) || claims.getSubject() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new VerifiedToken(claims.getSubject(), expiresAt.getTime()));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    record VerifiedToken(String username, long expiresAtMillis) {
     }
-}
\ No newline at end of file
+}
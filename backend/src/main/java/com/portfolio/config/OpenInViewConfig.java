@@ -0,0 +1,27 @@
+package com.portfolio.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers open-in-view ourselves (which switches off Boot's own registration) so long-lived
+ * streams can be left out. An EntityManager kept open for the life of an SSE connection holds
+ * on to its JDBC connection too, and a handful of idle readers would drain the pool.
+ */
+@Configuration
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns("/api/comments/post/*/stream");
+    }
+}
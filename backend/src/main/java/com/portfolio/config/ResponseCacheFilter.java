@@ -0,0 +1,253 @@
+package com.portfolio.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the encoded JSON of public listing endpoints, with a gzip variant; each encoding has its own strong ETag.
+ * Hits are written straight from the stored bytes (or answered with 304) without reaching a controller.
+ * Successful writes through a content controller drop the entries they can affect.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final List<String> CACHEABLE_PATHS = List.of(
+        "/api/projects",
+        "/api/projects/featured",
+        "/api/gallery",
+        "/api/posts",
+        "/api/posts/page",
+        "/api/posts/tag/*",
+        "/api/tags",
+        "/api/home"
+    );
+
+    // Which cached groups a write to each group can change. Post summaries embed tags and comment counts,
+    // saving a post can create tags, and the home page aggregates all of them.
+    private static final Map<String, Set<String>> INVALIDATES = Map.of(
+        "projects", Set.of("projects", "home"),
+        "gallery", Set.of("gallery", "home"),
+        "posts", Set.of("posts", "tags", "home"),
+        "tags", Set.of("tags", "posts", "home"),
+        "comments", Set.of("posts", "home"),
+        "home", Set.of("home")
+    );
+
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, CachedResponse> cache;
+    // Bumped on invalidation so a response computed before a write is never stored after it
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCacheFilter(MeterRegistry meterRegistry,
+                               @Value("${app.response-cache.max-bytes:33554432}") long maxBytes,
+                               @Value("${app.response-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> value.weight())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "responseCache");
+        INVALIDATES.keySet().forEach(group -> generations.put(group, new AtomicLong()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String group = group(path);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method)) {
+            if (isCacheable(path)) {
+                serveCached(request, response, filterChain, group, cacheKey(path, request.getQueryString()));
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } else if (HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            filterChain.doFilter(request, response);
+        } else {
+            filterChain.doFilter(request, response);
+            if (response.getStatus() < 400) {
+                invalidate(group);
+            }
+        }
+    }
+
+    private void serveCached(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                             String group, String key) throws ServletException, IOException {
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            write(request, response, cached);
+            return;
+        }
+
+        long generation = generations.get(group).get();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        CachedResponse encoded = CachedResponse.of(wrapper.getContentAsByteArray(), contentType);
+        if (generations.get(group).get() == generation) {
+            cache.put(key, encoded);
+        }
+        // Headers already went through to the real response; the buffered body is replaced by the encoded one
+        write(request, response, encoded);
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached)
+            throws IOException {
+        // Strong tags promise identical bytes, so each encoding gets its own
+        boolean gzip = cached.gzipBody() != null && acceptsGzip(request);
+        response.setHeader(HttpHeaders.ETAG, gzip ? cached.gzipEtag() : cached.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // Either tag names the same content, so a client holding one still gets a 304
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (matchesEtag(ifNoneMatch, cached.etag()) || matchesEtag(ifNoneMatch, cached.gzipEtag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        byte[] body = cached.body();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.gzipBody();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Drop cached responses a change to the group can affect; for writes that don't arrive over HTTP
+     */
+    public void invalidate(String group) {
+        for (String affected : INVALIDATES.get(group)) {
+            generations.get(affected).incrementAndGet();
+            String prefix = "/api/" + affected;
+            cache.asMap().keySet().removeIf(key -> key.equals(prefix) || key.startsWith(prefix + "/")
+                    || key.startsWith(prefix + "?"));
+        }
+    }
+
+    private boolean isCacheable(String path) {
+        for (String pattern : CACHEABLE_PATHS) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Content group for /api/{group}/..., or null when the path isn't a cached content controller
+     */
+    private static String group(String path) {
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+        int end = path.indexOf('/', 5);
+        String group = end < 0 ? path.substring(5) : path.substring(5, end);
+        return INVALIDATES.containsKey(group) ? group : null;
+    }
+
+    private static String cacheKey(String path, String queryString) {
+        return queryString == null ? path : path + "?" + queryString;
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private record CachedResponse(byte[] body, byte[] gzipBody, String contentType, String etag) {
+
+        static CachedResponse of(byte[] body, String contentType) throws IOException {
+            byte[] gzipBody = null;
+            if (body.length >= GZIP_MIN_BYTES) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                    gzip.write(body);
+                }
+                gzipBody = buffer.toByteArray();
+            }
+            return new CachedResponse(body, gzipBody, contentType, etag(body));
+        }
+
+        int weight() {
+            return body.length + (gzipBody == null ? 0 : gzipBody.length);
+        }
+
+        /**
+         * Tag of the gzip body: the identity tag with a suffix inside the quotes
+         */
+        String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        private static String etag(byte[] body) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+                return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
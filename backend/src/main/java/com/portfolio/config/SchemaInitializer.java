@@ -0,0 +1,160 @@
+package com.portfolio.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the PostgreSQL objects that ddl-auto can't express (search vectors, triggers, GIN and
+ * pattern-ops indexes) and reconciles denormalized counters once.
+ * Every statement is idempotent, so this runs on each startup after Hibernate has updated the schema.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaInitializer {
+
+    private static final List<String> FULL_TEXT_SEARCH = List.of(
+        "ALTER TABLE blog_posts ADD COLUMN IF NOT EXISTS search_vector tsvector",
+
+        // Title weighs most, then tags and excerpt, then the body
+        """
+        CREATE OR REPLACE FUNCTION blog_posts_search_vector(bigint, text, text, text)
+        RETURNS tsvector LANGUAGE sql STABLE AS $$
+            SELECT setweight(to_tsvector('english', coalesce($2, '')), 'A')
+                || setweight(to_tsvector('english', coalesce((
+                       SELECT string_agg(t.name, ' ')
+                       FROM post_tags pt JOIN tags t ON t.id = pt.tag_id
+                       WHERE pt.post_id = $1), '')), 'B')
+                || setweight(to_tsvector('english', coalesce($3, '')), 'B')
+                || setweight(to_tsvector('english', coalesce($4, '')), 'C')
+        $$
+        """,
+
+        """
+        CREATE OR REPLACE FUNCTION blog_posts_search_vector_trigger() RETURNS trigger LANGUAGE plpgsql AS $$
+        BEGIN
+            NEW.search_vector := blog_posts_search_vector(NEW.id, NEW.title, NEW.excerpt, NEW.content);
+            RETURN NEW;
+        END
+        $$
+        """,
+        "DROP TRIGGER IF EXISTS trg_blog_posts_search_vector ON blog_posts",
+        """
+        CREATE TRIGGER trg_blog_posts_search_vector
+        BEFORE INSERT OR UPDATE OF title, excerpt, content ON blog_posts
+        FOR EACH ROW EXECUTE FUNCTION blog_posts_search_vector_trigger()
+        """,
+
+        // Tags are stored after the post row, so refresh the vector when the link table changes. Statement-level,
+        // so a post whose tags are replaced in one flush is recomputed once rather than once per link row.
+        // Transition tables need one trigger per event; the function reads whichever the firing one declares.
+        """
+        CREATE OR REPLACE FUNCTION post_tags_search_vector_trigger() RETURNS trigger LANGUAGE plpgsql AS $$
+        BEGIN
+            IF TG_OP = 'DELETE' THEN
+                UPDATE blog_posts
+                SET search_vector = blog_posts_search_vector(id, title, excerpt, content)
+                WHERE id IN (SELECT DISTINCT post_id FROM old_rows);
+            ELSE
+                UPDATE blog_posts
+                SET search_vector = blog_posts_search_vector(id, title, excerpt, content)
+                WHERE id IN (SELECT DISTINCT post_id FROM new_rows);
+            END IF;
+            RETURN NULL;
+        END
+        $$
+        """,
+        "DROP TRIGGER IF EXISTS trg_post_tags_search_vector ON post_tags",
+        "DROP TRIGGER IF EXISTS trg_post_tags_insert_search_vector ON post_tags",
+        """
+        CREATE TRIGGER trg_post_tags_insert_search_vector
+        AFTER INSERT ON post_tags
+        REFERENCING NEW TABLE AS new_rows
+        FOR EACH STATEMENT EXECUTE FUNCTION post_tags_search_vector_trigger()
+        """,
+        "DROP TRIGGER IF EXISTS trg_post_tags_delete_search_vector ON post_tags",
+        """
+        CREATE TRIGGER trg_post_tags_delete_search_vector
+        AFTER DELETE ON post_tags
+        REFERENCING OLD TABLE AS old_rows
+        FOR EACH STATEMENT EXECUTE FUNCTION post_tags_search_vector_trigger()
+        """,
+
+        """
+        CREATE OR REPLACE FUNCTION tags_search_vector_trigger() RETURNS trigger LANGUAGE plpgsql AS $$
+        BEGIN
+            UPDATE blog_posts
+            SET search_vector = blog_posts_search_vector(id, title, excerpt, content)
+            WHERE id IN (SELECT post_id FROM post_tags WHERE tag_id = NEW.id);
+            RETURN NULL;
+        END
+        $$
+        """,
+        "DROP TRIGGER IF EXISTS trg_tags_search_vector ON tags",
+        """
+        CREATE TRIGGER trg_tags_search_vector
+        AFTER UPDATE OF name ON tags
+        FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+        EXECUTE FUNCTION tags_search_vector_trigger()
+        """,
+
+        "CREATE INDEX IF NOT EXISTS idx_blog_posts_search_vector ON blog_posts USING GIN (search_vector)",
+
+        // Backfill rows written before the trigger existed
+        """
+        UPDATE blog_posts
+        SET search_vector = blog_posts_search_vector(id, title, excerpt, content)
+        WHERE search_vector IS NULL
+        """
+    );
+
+    // The unique slug indexes use the database collation, which can't serve LIKE 'prefix%'; SlugAllocator needs these
+    private static final List<String> SLUG_PREFIX_INDEXES = List.of(
+        "CREATE INDEX IF NOT EXISTS idx_blog_posts_slug_pattern ON blog_posts (slug text_pattern_ops)",
+        "CREATE INDEX IF NOT EXISTS idx_projects_slug_pattern ON projects (slug text_pattern_ops)",
+        "CREATE INDEX IF NOT EXISTS idx_tags_slug_pattern ON tags (slug text_pattern_ops)"
+    );
+
+    // Set on the column once the counters have been reconciled. ddl-auto adds the column without it,
+    // so a database that predates the counter is reconciled on its first start and not again.
+    private static final String COMMENT_COUNTS_RECONCILED = "reconciled with comments";
+
+    private static final String COMMENT_COUNT_MARKER = """
+        SELECT col_description(attrelid, attnum) FROM pg_attribute
+        WHERE attrelid = 'blog_posts'::regclass AND attname = 'comment_count'
+        """;
+
+    // Bring the denormalized comment counters in line with the comments table
+    private static final String RECONCILE_COMMENT_COUNTS = """
+        UPDATE blog_posts p SET comment_count = c.total
+        FROM (
+            SELECT b.id, COUNT(c.id) AS total
+            FROM blog_posts b LEFT JOIN comments c ON c.post_id = b.id
+            GROUP BY b.id
+        ) c
+        WHERE p.id = c.id AND p.comment_count IS DISTINCT FROM c.total
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Forces the full scan on this start, for counters edited by hand or restored from an older dump
+    @Value("${app.maintenance.reconcile-comment-counts:false}")
+    private boolean reconcileCommentCounts;
+
+    @PostConstruct
+    public void init() {
+        FULL_TEXT_SEARCH.forEach(jdbcTemplate::execute);
+        SLUG_PREFIX_INDEXES.forEach(jdbcTemplate::execute);
+        if (reconcileCommentCounts
+                || !COMMENT_COUNTS_RECONCILED.equals(jdbcTemplate.queryForObject(COMMENT_COUNT_MARKER, String.class))) {
+            jdbcTemplate.update(RECONCILE_COMMENT_COUNTS);
+            jdbcTemplate.execute("COMMENT ON COLUMN blog_posts.comment_count IS '" + COMMENT_COUNTS_RECONCILED + "'");
+        }
+    }
+}
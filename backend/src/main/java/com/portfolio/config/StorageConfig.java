@@ -0,0 +1,20 @@
+package com.portfolio.config;
+
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StorageConfig {
+
+    /**
+     * One GCS client for the whole application; it holds credentials and an HTTP transport that are costly to build
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "gcs")
+    public Storage storage() {
+        return StorageOptions.getDefaultInstance().getService();
+    }
+}
@@ -0,0 +1,112 @@
+package com.portfolio.controller;
+
+import com.portfolio.storage.BlobKeys;
+import com.portfolio.storage.BlobStore;
+import com.portfolio.storage.StoredBlob;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Serves uploaded files from the configured BlobStore. Keys are random and never reused,
+ * so responses can be cached indefinitely.
+ */
+@RestController
+public class BlobController {
+
+    // Tomcat request attributes: when supported, the connector sends the named file itself after the
+    // servlet returns, straight from the page cache to the socket
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final BlobStore blobStore;
+
+    public BlobController(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * Serve an uploaded file. Files on local disk support Range and If-Modified-Since;
+     * other stores stream the whole blob.
+     */
+    @GetMapping("/uploads/{key}")
+    public ResponseEntity<Resource> getBlob(@PathVariable String key, HttpServletRequest request,
+                                            HttpServletResponse response) throws IOException {
+        if (!BlobKeys.isValid(key)) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Path> file = blobStore.localFile(key);
+        if (file.isPresent()) {
+            return serveFile(file.get(), key, request, response);
+        }
+
+        Optional<StoredBlob> opened = blobStore.open(key);
+        if (opened.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try (StoredBlob blob = opened.get()) {
+            response.setContentType(blob.contentType());
+            if (blob.size() >= 0) {
+                response.setContentLengthLong(blob.size());
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+            blob.transferTo(Channels.newChannel(response.getOutputStream()));
+        }
+        return null;
+    }
+
+    private ResponseEntity<Resource> serveFile(Path path, String key, HttpServletRequest request,
+                                               HttpServletResponse response) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return ResponseEntity.notFound().build();
+        }
+        FileSystemResource resource = new FileSystemResource(path);
+        MediaType contentType = MediaType.parseMediaType(BlobKeys.contentType(key));
+
+        // Whole-file GETs go out through sendfile; Spring answers HEAD and ranges below, ranges with 206 and ResourceRegions
+        if (HttpMethod.GET.matches(request.getMethod()) && request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            long size = resource.contentLength();
+            // Sets Last-Modified, or answers 304 when If-Modified-Since matches
+            if (new ServletWebRequest(request, response).checkNotModified(resource.lastModified())) {
+                return null;
+            }
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(size);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .lastModified(resource.lastModified())
+                .cacheControl(IMMUTABLE)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(resource);
+    }
+}
@@ -1,5 +1,7 @@
 package com.portfolio.controller;
 
+import com.portfolio.dto.BlogPostSummary;
+import com.portfolio.dto.CursorPage;
 import com.portfolio.model.BlogPost;
 import com.portfolio.model.User;
 import com.portfolio.service.BlogPostService;
@@ -30,10 +32,23 @@ public class BlogPostController {
      * Get all published posts
      */
     @GetMapping
-    public ResponseEntity<List<BlogPost>> getAllPublishedPosts() {
+    public ResponseEntity<List<BlogPostSummary>> getAllPublishedPosts() {
         return ResponseEntity.ok(blogPostService.getAllPublishedPosts());
     }
 
+    /**
+     * Get one page of published posts, newest first
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<BlogPostSummary>> getPublishedPostsPage(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(blogPostService.getPublishedPostsPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Get all posts including unpublished (owner only)
      */
@@ -44,13 +59,16 @@ public class BlogPostController {
     }
 
     /**
-     * Get post by ID
+     * Get post by ID. countView=false loads it without counting a view (the editor uses this)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BlogPost> getPostById(@PathVariable Long id) {
+    public ResponseEntity<BlogPost> getPostById(@PathVariable Long id,
+                                                @RequestParam(defaultValue = "true") boolean countView) {
         return blogPostService.getPostById(id)
                 .map(post -> {
-                    blogPostService.incrementViewCount(id);
+                    if (countView) {
+                        blogPostService.incrementViewCount(id);
+                    }
                     return ResponseEntity.ok(post);
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -70,18 +88,29 @@ public class BlogPostController {
     }
 
     /**
-     * Search posts by title
+     * Search posts: full-text with q (ranked, with snippets), or by title substring with title.
+     * prefix=true treats the last word of q as a prefix (typeahead, in-memory engine only).
      */
     @GetMapping("/search")
-    public ResponseEntity<List<BlogPost>> searchPosts(@RequestParam String title) {
-        return ResponseEntity.ok(blogPostService.searchPostsByTitle(title));
+    public ResponseEntity<?> searchPosts(@RequestParam(required = false) String q,
+                                         @RequestParam(required = false) String title,
+                                         @RequestParam(defaultValue = "false") boolean prefix,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(required = false) Integer size) {
+        if (q != null && !q.isBlank()) {
+            return ResponseEntity.ok(blogPostService.searchPosts(q, prefix, page, size));
+        }
+        if (title != null) {
+            return ResponseEntity.ok(blogPostService.searchPostsByTitle(title));
+        }
+        return ResponseEntity.badRequest().build();
     }
 
     /**
      * Get posts by tag
      */
     @GetMapping("/tag/{tagSlug}")
-    public ResponseEntity<List<BlogPost>> getPostsByTag(@PathVariable String tagSlug) {
+    public ResponseEntity<List<BlogPostSummary>> getPostsByTag(@PathVariable String tagSlug) {
         return ResponseEntity.ok(blogPostService.getPostsByTag(tagSlug));
     }
 
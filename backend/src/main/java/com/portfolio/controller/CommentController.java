@@ -1,10 +1,15 @@
 package com.portfolio.controller;
 
+import com.portfolio.dto.CommentView;
+import com.portfolio.dto.CursorPage;
 import com.portfolio.model.Comment;
+import com.portfolio.service.CommentIngestor;
 import com.portfolio.service.CommentService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -15,19 +20,52 @@ import java.util.Map;
 public class CommentController {
 
     private final CommentService commentService;
+    private final CommentIngestor commentIngestor;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, CommentIngestor commentIngestor) {
         this.commentService = commentService;
+        this.commentIngestor = commentIngestor;
     }
 
     /**
      * Get all comments for a post
      */
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<Comment>> getCommentsByPostId(@PathVariable Long postId) {
+    public ResponseEntity<List<CommentView>> getCommentsByPostId(@PathVariable Long postId) {
         return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
     }
 
+    /**
+     * Get a page of comments for a post, newest first
+     */
+    @GetMapping("/post/{postId}/page")
+    public ResponseEntity<CursorPage<CommentView>> getCommentsPage(
+            @PathVariable Long postId, @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(commentService.getCommentsPage(postId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Stream new and deleted comments for a post as Server-Sent Events
+     */
+    @GetMapping(path = "/post/{postId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamComments(@PathVariable Long postId) {
+        try {
+            return ResponseEntity.ok()
+                    .header("Cache-Control", "no-cache")
+                    .header("X-Accel-Buffering", "no")
+                    .body(commentService.streamComments(postId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     /**
      * Get comment count for a post
      */
@@ -38,18 +76,26 @@ public class CommentController {
     }
 
     /**
-     * Create new comment (anonymous - anyone can comment)
+     * Create new comment (anonymous - anyone can comment). With async ingestion the comment is
+     * queued and answered with 202; it reaches readers through the stream once written.
      */
     @PostMapping
-    public ResponseEntity<Comment> createComment(@RequestBody Map<String, Object> payload) {
+    public ResponseEntity<?> createComment(@RequestBody Map<String, Object> payload) {
         try {
             Long postId = ((Number) payload.get("postId")).longValue();
             String content = (String) payload.get("content");
 
+            if (commentIngestor.isEnabled()) {
+                return ResponseEntity.accepted().body(commentIngestor.submit(postId, content));
+            }
             Comment comment = commentService.createComment(postId, content);
-            return ResponseEntity.status(HttpStatus.CREATED).body(comment);
+            return ResponseEntity.status(HttpStatus.CREATED).body(CommentView.of(comment));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(Map.of("error", "Too many comments being posted, try again shortly"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -1,73 +1,89 @@
 package com.portfolio.controller;
 
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.Storage;
-import com.google.cloud.storage.StorageOptions;
+import com.portfolio.service.ImageDerivativeService;
+import com.portfolio.storage.BlobKeys;
+import com.portfolio.storage.BlobStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/upload")
 public class FileUploadController {
 
-    @Value("${app.gcs.bucket}")
-    private String bucketName;
+    private static final Logger log = LoggerFactory.getLogger(FileUploadController.class);
 
-    @Value("${app.gcs.enabled:false}")
-    private boolean gcsEnabled;
+    @Value("${app.upload.acquire-timeout-ms:5000}")
+    private long acquireTimeoutMs;
 
-    // Local upload fallback
-    @Value("${app.upload.dir:./uploads}")
-    private String uploadDir;
+    private final BlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
+    private final Semaphore uploadPermits;
+    private final Timer uploadTimer;
+    private final DistributionSummary uploadBytes;
 
-    @Value("${app.base-url}")
-    private String baseUrl;
+    public FileUploadController(BlobStore blobStore, ImageDerivativeService imageDerivativeService,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.upload.max-concurrent:4}") int maxConcurrentUploads) {
+        this.blobStore = blobStore;
+        this.imageDerivativeService = imageDerivativeService;
+        this.uploadPermits = new Semaphore(maxConcurrentUploads, true);
+        this.uploadTimer = Timer.builder("upload.duration")
+                .description("Time spent storing an uploaded file")
+                .register(meterRegistry);
+        this.uploadBytes = DistributionSummary.builder("upload.bytes")
+                .description("Size of uploaded files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        meterRegistry.gauge("upload.in.flight", uploadPermits,
+                permits -> maxConcurrentUploads - permits.availablePermits());
+    }
 
     @PostMapping
     public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) throws IOException {
-        if (gcsEnabled) {
-            return uploadToGcs(file);
-        } else {
-            return uploadLocally(file);
+        boolean acquired;
+        try {
+            acquired = uploadPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Too many uploads in progress, try again shortly"));
         }
-    }
-
-    private ResponseEntity<?> uploadToGcs(MultipartFile file) throws IOException {
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename != null && originalFilename.contains(".")
-                ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                : "";
-        String filename = "uploads/" + UUID.randomUUID() + extension;
-
-        Storage storage = StorageOptions.getDefaultInstance().getService();
-        BlobId blobId = BlobId.of(bucketName, filename);
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-                .setContentType(file.getContentType())
-                .build();
-        storage.create(blobInfo, file.getBytes());
-
-        String fileUrl = "https://storage.googleapis.com/" + bucketName + "/" + filename;
-        return ResponseEntity.ok(Map.of("url", fileUrl));
-    }
 
-    private ResponseEntity<?> uploadLocally(MultipartFile file) throws IOException {
-        java.nio.file.Path uploadPath = java.nio.file.Paths.get(uploadDir).toAbsolutePath();
-        if (!java.nio.file.Files.exists(uploadPath)) {
-            java.nio.file.Files.createDirectories(uploadPath);
+        long start = System.nanoTime();
+        try (InputStream in = file.getInputStream()) {
+            String key = BlobKeys.newKey(file.getOriginalFilename());
+            String url = blobStore.put(key, in, file.getSize(), file.getContentType());
+            uploadBytes.record(file.getSize());
+            if (file.getContentType() != null && file.getContentType().startsWith("image/")) {
+                try {
+                    imageDerivativeService.generate(key);
+                } catch (TaskRejectedException e) {
+                    // The original is stored either way; it just won't get resized copies
+                    log.warn("Image queue full, skipping derivatives for {}", key);
+                }
+            }
+            return ResponseEntity.ok(Map.of("url", url));
+        } finally {
+            uploadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            uploadPermits.release();
         }
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename != null && originalFilename.contains(".")
-                ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                : "";
-        String filename = UUID.randomUUID() + extension;
-        java.nio.file.Files.copy(file.getInputStream(), uploadPath.resolve(filename));
-        return ResponseEntity.ok(Map.of("url", baseUrl + "/uploads/" + filename));
     }
-}
\ No newline at end of file
+}
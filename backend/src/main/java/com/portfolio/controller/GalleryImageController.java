@@ -79,6 +79,18 @@ public class GalleryImageController {
         }
     }
 
+    /**
+     * Move an image right after another one, or to the front without "after" (owner only)
+     */
+    @PatchMapping("/{id}/move")
+    public ResponseEntity<GalleryImage> moveImage(@PathVariable Long id, @RequestParam(required = false) Long after) {
+        try {
+            return ResponseEntity.ok(galleryImageService.moveImage(id, after));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Batch reorder images (owner only)
      */
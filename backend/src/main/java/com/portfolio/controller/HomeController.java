@@ -0,0 +1,26 @@
+package com.portfolio.controller;
+
+import com.portfolio.dto.HomePage;
+import com.portfolio.service.HomeService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/home")
+@CrossOrigin(origins = "*")
+public class HomeController {
+
+    private final HomeService homeService;
+
+    public HomeController(HomeService homeService) {
+        this.homeService = homeService;
+    }
+
+    /**
+     * Get everything the home page needs in one response
+     */
+    @GetMapping
+    public ResponseEntity<HomePage> getHomePage() {
+        return ResponseEntity.ok(homeService.getHomePage());
+    }
+}
@@ -121,4 +121,29 @@ public class ProjectController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * Move a project right after another one, or to the front without "after" (owner only)
+     */
+    @PatchMapping("/{id}/move")
+    public ResponseEntity<Project> moveProject(@PathVariable Long id, @RequestParam(required = false) Long after) {
+        try {
+            return ResponseEntity.ok(projectService.moveProject(id, after));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Batch reorder projects (owner only)
+     */
+    @PutMapping("/reorder")
+    public ResponseEntity<Void> reorderProjects(@RequestBody List<Long> projectIds) {
+        try {
+            projectService.reorderProjects(projectIds);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.portfolio.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * List-page view of a blog post: everything but the content, author and comments
+ */
+public record BlogPostSummary(Long id, String title, String slug, String excerpt, Boolean published,
+                              Integer viewCount, Integer commentCount, LocalDateTime createdAt,
+                              LocalDateTime updatedAt, List<TagSummary> tags) {
+
+    // Used by JPQL constructor expressions; tags are attached afterwards
+    public BlogPostSummary(Long id, String title, String slug, String excerpt, Boolean published,
+                           Integer viewCount, Integer commentCount, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, slug, excerpt, published, viewCount, commentCount, createdAt, updatedAt, List.of());
+    }
+
+    public BlogPostSummary withTags(List<TagSummary> tags) {
+        return new BlogPostSummary(id, title, slug, excerpt, published, viewCount, commentCount, createdAt, updatedAt,
+                tags);
+    }
+}
@@ -0,0 +1,16 @@
+package com.portfolio.dto;
+
+import com.portfolio.model.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * What readers see of a comment: no post back-reference
+ */
+public record CommentView(Long id, String anonymousName, String content, LocalDateTime createdAt) {
+
+    public static CommentView of(Comment comment) {
+        return new CommentView(comment.getId(), comment.getAnonymousName(), comment.getContent(),
+                comment.getCreatedAt());
+    }
+}
@@ -0,0 +1,18 @@
+package com.portfolio.dto;
+
+import com.portfolio.model.GalleryImage;
+import com.portfolio.model.Project;
+import com.portfolio.model.Tag;
+
+import java.util.List;
+
+/**
+ * Everything the home page shows, fetched in one round trip
+ */
+public record HomePage(
+        List<Project> featuredProjects,
+        List<BlogPostSummary> recentPosts,
+        List<Tag> tags,
+        List<GalleryImage> gallery
+) {
+}
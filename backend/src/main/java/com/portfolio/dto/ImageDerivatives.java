@@ -0,0 +1,19 @@
+package com.portfolio.dto;
+
+import java.util.Map;
+
+/**
+ * Resized copies of an uploaded image: URLs keyed by width, plus an inline blur placeholder (data URI)
+ */
+public record ImageDerivatives(Map<String, String> variants, String placeholder) {
+
+    /**
+     * URL of the narrowest variant, or null if the original was already small enough
+     */
+    public String smallestVariantUrl() {
+        return variants.entrySet().stream()
+                .min((a, b) -> Integer.compare(Integer.parseInt(a.getKey()), Integer.parseInt(b.getKey())))
+                .map(Map.Entry::getValue)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.portfolio.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment accepted for asynchronous ingestion but not yet written; createdAt is when it was submitted
+ */
+public record PendingComment(Long postId, String content, String anonymousName, LocalDateTime createdAt) {
+}
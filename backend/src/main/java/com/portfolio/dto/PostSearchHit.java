@@ -0,0 +1,13 @@
+package com.portfolio.dto;
+
+/**
+ * Row returned by the full-text search query
+ */
+public interface PostSearchHit {
+
+    Long getId();
+
+    Double getRank();
+
+    String getSnippet();
+}
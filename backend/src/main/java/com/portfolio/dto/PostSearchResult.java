@@ -0,0 +1,7 @@
+package com.portfolio.dto;
+
+/**
+ * A search match: the post summary, its relevance and a highlighted excerpt of the body
+ */
+public record PostSearchResult(BlogPostSummary post, double rank, String snippet) {
+}
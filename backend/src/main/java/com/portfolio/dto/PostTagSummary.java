@@ -0,0 +1,11 @@
+package com.portfolio.dto;
+
+/**
+ * A tag row paired with the post it belongs to, used to attach tags to a page of summaries in one query
+ */
+public record PostTagSummary(Long postId, Long tagId, String name, String slug) {
+
+    public TagSummary toTagSummary() {
+        return new TagSummary(tagId, name, slug);
+    }
+}
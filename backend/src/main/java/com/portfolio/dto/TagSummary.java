@@ -0,0 +1,4 @@
+package com.portfolio.dto;
+
+public record TagSummary(Long id, String name, String slug) {
+}
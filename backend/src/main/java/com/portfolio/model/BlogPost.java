@@ -14,7 +14,8 @@ import java.util.Set;
 @Table(name = "blog_posts", indexes = {
     @Index(name = "idx_blog_posts_slug", columnList = "slug"),
     @Index(name = "idx_blog_posts_published", columnList = "published"),
-    @Index(name = "idx_blog_posts_created_at", columnList = "createdAt")
+    @Index(name = "idx_blog_posts_created_at", columnList = "createdAt"),
+    @Index(name = "idx_blog_posts_published_created_at_id", columnList = "published, createdAt, id")
 })
 public class BlogPost {
 
@@ -42,9 +43,14 @@ public class BlogPost {
     @Column(nullable = false)
     private Boolean published = false;
 
-    @Column(nullable = false)
+    // Owned by ViewCountBuffer, which writes increments directly
+    @Column(nullable = false, updatable = false)
     private Integer viewCount = 0;
 
+    // Maintained by CommentService with relative updates; the default lets ddl-auto add it to existing rows
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private Integer commentCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -146,6 +152,14 @@ public class BlogPost {
         this.viewCount = viewCount;
     }
 
+    public Integer getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(Integer commentCount) {
+        this.commentCount = commentCount;
+    }
+
     public User getAuthor() {
         return author;
     }
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "comments", indexes = {
     @Index(name = "idx_comments_post_id", columnList = "post_id"),
-    @Index(name = "idx_comments_created_at", columnList = "createdAt")
+    @Index(name = "idx_comments_created_at", columnList = "createdAt"),
+    @Index(name = "idx_comments_post_id_created_at_id", columnList = "post_id, createdAt, id")
 })
 public class Comment {
 
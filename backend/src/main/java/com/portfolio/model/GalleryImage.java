@@ -4,8 +4,12 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Entity
 @Table(name = "gallery_images", indexes = {
@@ -29,6 +33,15 @@ public class GalleryImage {
     @Column(columnDefinition = "TEXT")
     private String caption;
 
+    // Resized copies keyed by width, filled in once the upload has been processed
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, String> variants = new LinkedHashMap<>();
+
+    // Tiny blurred preview as a data URI
+    @Column(columnDefinition = "TEXT")
+    private String placeholder;
+
     @Column(nullable = false)
     private Integer displayOrder = 0;
 
@@ -82,6 +95,22 @@ public class GalleryImage {
         this.caption = caption;
     }
 
+    public Map<String, String> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(Map<String, String> variants) {
+        this.variants = variants;
+    }
+
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    public void setPlaceholder(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
     public Integer getDisplayOrder() {
         return displayOrder;
     }
@@ -1,16 +1,23 @@
 package com.portfolio.repository;
 
+import com.portfolio.dto.BlogPostSummary;
+import com.portfolio.dto.PostSearchHit;
+import com.portfolio.dto.PostTagSummary;
 import com.portfolio.model.BlogPost;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
+public interface BlogPostRepository extends JpaRepository<BlogPost, Long>, BlogPostRepositoryCustom {
 
     Optional<BlogPost> findBySlug(String slug);
 
@@ -25,4 +32,70 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
     List<BlogPost> findByTagIdAndPublishedTrue(@Param("tagId") Long tagId);
 
     boolean existsBySlug(String slug);
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT p FROM BlogPost p LEFT JOIN FETCH p.tags WHERE p.published = true")
+    List<BlogPost> findAllPublishedWithTags();
+
+    @Query("SELECT DISTINCT p FROM BlogPost p LEFT JOIN FETCH p.tags "
+            + "WHERE p.id IN (SELECT pt.id FROM BlogPost pt JOIN pt.tags t WHERE t.id = :tagId)")
+    List<BlogPost> findAllWithTagsByTagId(@Param("tagId") Long tagId);
+
+    // Summary projections for list endpoints: no content, author or comments
+
+    String SUMMARY = "SELECT new com.portfolio.dto.BlogPostSummary(p.id, p.title, p.slug, p.excerpt, p.published, " +
+                     "p.viewCount, p.commentCount, p.createdAt, p.updatedAt) FROM BlogPost p ";
+
+    @Query(SUMMARY + "WHERE p.published = true ORDER BY p.createdAt DESC")
+    List<BlogPostSummary> findPublishedSummaries();
+
+    // Title text is matched literally, so % and _ in a search don't act as wildcards
+    default List<BlogPostSummary> findPublishedSummariesByTitle(String title) {
+        return findPublishedSummariesByTitleLike(LikePatterns.contains(title));
+    }
+
+    @Query(SUMMARY + "WHERE p.published = true AND LOWER(p.title) LIKE LOWER(:pattern) ESCAPE '\\' " +
+           "ORDER BY p.createdAt DESC")
+    List<BlogPostSummary> findPublishedSummariesByTitleLike(@Param("pattern") String pattern);
+
+    @Query(SUMMARY + "JOIN p.tags t WHERE t.slug = :tagSlug AND p.published = true ORDER BY p.createdAt DESC")
+    List<BlogPostSummary> findPublishedSummariesByTagSlug(@Param("tagSlug") String tagSlug);
+
+    // Keyset pagination over (createdAt, id), served by idx_blog_posts_published_created_at_id
+    @Query(SUMMARY + "WHERE p.published = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<BlogPostSummary> findPublishedFirstPage(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE p.published = true " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<BlogPostSummary> findPublishedPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                 Pageable pageable);
+
+    @Query(SUMMARY + "WHERE p.id IN :ids")
+    List<BlogPostSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.portfolio.dto.PostTagSummary(p.id, t.id, t.name, t.slug) " +
+           "FROM BlogPost p JOIN p.tags t WHERE p.id IN :postIds ORDER BY t.name")
+    List<PostTagSummary> findTagSummariesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Full-text search over search_vector (maintained by triggers, see SchemaInitializer).
+    // Snippets are built only for the rows on the requested page.
+    @Query(value = "SELECT r.id AS id, r.rank AS rank, " +
+                   "ts_headline('english', r.content, r.query, " +
+                   "'MaxFragments=2, MaxWords=30, MinWords=10, StartSel=<mark>, StopSel=</mark>') AS snippet " +
+                   "FROM (SELECT p.id, p.content, q.query, " +
+                   "      CAST(ts_rank(p.search_vector, q.query) AS double precision) AS rank " +
+                   "      FROM blog_posts p, websearch_to_tsquery('english', :query) AS q(query) " +
+                   "      WHERE p.published AND p.search_vector @@ q.query " +
+                   "      ORDER BY rank DESC, p.id DESC LIMIT :limit OFFSET :offset) r " +
+                   "ORDER BY r.rank DESC, r.id DESC",
+           nativeQuery = true)
+    List<PostSearchHit> searchPublished(@Param("query") String query, @Param("limit") int limit,
+                                        @Param("offset") int offset);
+
+    @Modifying
+    @Query("UPDATE BlogPost p SET p.commentCount = p.commentCount + :delta WHERE p.id = :id")
+    int adjustCommentCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query("SELECT p.commentCount FROM BlogPost p WHERE p.id = :id")
+    Optional<Integer> findCommentCountById(@Param("id") Long id);
+}
@@ -0,0 +1,11 @@
+package com.portfolio.repository;
+
+import java.util.Map;
+
+public interface BlogPostRepositoryCustom {
+
+    /**
+     * Add the given deltas to view_count in a single JDBC batch
+     */
+    void incrementViewCounts(Map<Long, Long> deltas);
+}
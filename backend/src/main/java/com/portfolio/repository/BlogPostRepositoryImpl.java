@@ -0,0 +1,28 @@
+package com.portfolio.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class BlogPostRepositoryImpl implements BlogPostRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlogPostRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void incrementViewCounts(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((postId, delta) -> args.add(new Object[]{delta, postId}));
+        jdbcTemplate.batchUpdate("UPDATE blog_posts SET view_count = view_count + ? WHERE id = ?", args);
+    }
+}
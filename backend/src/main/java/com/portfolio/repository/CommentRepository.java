@@ -1,15 +1,37 @@
 package com.portfolio.repository;
 
+import com.portfolio.dto.CommentView;
 import com.portfolio.model.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
 
     List<Comment> findByPostIdOrderByCreatedAtDesc(Long postId);
 
     Long countByPostId(Long postId);
-}
\ No newline at end of file
+
+    // Slim projections, newest first; keyset pages are served by idx_comments_post_id_created_at_id
+
+    String VIEW = "SELECT new com.portfolio.dto.CommentView(c.id, c.anonymousName, c.content, c.createdAt) " +
+                  "FROM Comment c ";
+
+    @Query(VIEW + "WHERE c.post.id = :postId ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentView> findViewsByPostId(@Param("postId") Long postId);
+
+    @Query(VIEW + "WHERE c.post.id = :postId ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentView> findFirstPage(@Param("postId") Long postId, Pageable pageable);
+
+    @Query(VIEW + "WHERE c.post.id = :postId " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentView> findPageAfter(@Param("postId") Long postId, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id, Pageable pageable);
+}
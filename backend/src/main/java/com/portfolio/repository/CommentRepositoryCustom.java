@@ -0,0 +1,16 @@
+package com.portfolio.repository;
+
+import com.portfolio.dto.CommentView;
+import com.portfolio.dto.PendingComment;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CommentRepositoryCustom {
+
+    /**
+     * Insert the comments and bump their posts' comment counts in one statement. Comments whose post
+     * no longer exists are dropped; returns what was written, grouped by post id
+     */
+    Map<Long, List<CommentView>> insertBatch(List<PendingComment> comments);
+}
@@ -0,0 +1,78 @@
+package com.portfolio.repository;
+
+import com.portfolio.dto.CommentView;
+import com.portfolio.dto.PendingComment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    // The batch goes up as one array per column, so the statement text is the same for any batch size.
+    // The EXISTS guard skips comments on posts deleted since they were queued instead of failing the batch.
+    private static final String INSERT_BATCH = """
+            WITH inserted AS (
+                INSERT INTO comments (post_id, content, anonymous_name, created_at)
+                SELECT d.post_id, d.content, d.anonymous_name, d.created_at
+                FROM unnest(?::bigint[], ?::text[], ?::text[], ?::timestamp[]) WITH ORDINALITY
+                     AS d(post_id, content, anonymous_name, created_at, position)
+                WHERE EXISTS (SELECT 1 FROM blog_posts p WHERE p.id = d.post_id)
+                ORDER BY d.position
+                RETURNING id, post_id, anonymous_name, content, created_at
+            ), counted AS (
+                UPDATE blog_posts p SET comment_count = p.comment_count + c.added
+                FROM (SELECT post_id, COUNT(*) AS added FROM inserted GROUP BY post_id) c
+                WHERE p.id = c.post_id
+            )
+            SELECT id, post_id, anonymous_name, content, created_at FROM inserted ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<Long, List<CommentView>> insertBatch(List<PendingComment> comments) {
+        Map<Long, List<CommentView>> inserted = new LinkedHashMap<>();
+        if (comments.isEmpty()) {
+            return inserted;
+        }
+        jdbcTemplate.query(connection -> prepareInsert(connection, comments), rs -> {
+            CommentView view = new CommentView(rs.getLong("id"), rs.getString("anonymous_name"),
+                    rs.getString("content"), rs.getTimestamp("created_at").toLocalDateTime());
+            inserted.computeIfAbsent(rs.getLong("post_id"), id -> new ArrayList<>()).add(view);
+        });
+        return inserted;
+    }
+
+    private static PreparedStatement prepareInsert(Connection connection, List<PendingComment> comments)
+            throws SQLException {
+        int size = comments.size();
+        Long[] postIds = new Long[size];
+        String[] contents = new String[size];
+        String[] names = new String[size];
+        Timestamp[] createdAts = new Timestamp[size];
+        for (int i = 0; i < size; i++) {
+            PendingComment comment = comments.get(i);
+            postIds[i] = comment.postId();
+            contents[i] = comment.content();
+            names[i] = comment.anonymousName();
+            createdAts[i] = Timestamp.valueOf(comment.createdAt());
+        }
+        PreparedStatement statement = connection.prepareStatement(INSERT_BATCH);
+        statement.setArray(1, connection.createArrayOf("bigint", postIds));
+        statement.setArray(2, connection.createArrayOf("text", contents));
+        statement.setArray(3, connection.createArrayOf("text", names));
+        statement.setArray(4, connection.createArrayOf("timestamp", createdAts));
+        return statement;
+    }
+}
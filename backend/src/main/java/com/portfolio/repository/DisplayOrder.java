@@ -0,0 +1,34 @@
+package com.portfolio.repository;
+
+import java.util.OptionalInt;
+
+/**
+ * Sparse display ordering. Items sit GAP apart, so placing one between two neighbours only
+ * rewrites that item; when neighbours end up adjacent the table is renumbered.
+ */
+public final class DisplayOrder {
+
+    public static final int GAP = 1024;
+
+    private DisplayOrder() {
+    }
+
+    /**
+     * Order strictly between two neighbours (either may be null for the ends), or empty when there is no room
+     */
+    public static OptionalInt between(Integer previous, Integer next) {
+        if (previous == null && next == null) {
+            return OptionalInt.of(GAP);
+        }
+        if (previous == null) {
+            long candidate = (long) next - GAP;
+            return candidate >= Integer.MIN_VALUE ? OptionalInt.of((int) candidate) : OptionalInt.empty();
+        }
+        if (next == null) {
+            long candidate = (long) previous + GAP;
+            return candidate <= Integer.MAX_VALUE ? OptionalInt.of((int) candidate) : OptionalInt.empty();
+        }
+        long midpoint = ((long) previous + next) / 2;
+        return midpoint > previous && midpoint < next ? OptionalInt.of((int) midpoint) : OptionalInt.empty();
+    }
+}
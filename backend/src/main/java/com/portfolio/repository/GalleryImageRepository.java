@@ -2,14 +2,31 @@ package com.portfolio.repository;
 
 import com.portfolio.model.GalleryImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface GalleryImageRepository extends JpaRepository<GalleryImage, Long> {
+public interface GalleryImageRepository extends JpaRepository<GalleryImage, Long>, GalleryImageRepositoryCustom {
 
     List<GalleryImage> findAllByOrderByDisplayOrderAsc();
 
     List<GalleryImage> findAllByOrderByUploadedAtDesc();
+
+    List<GalleryImage> findByImageUrl(String imageUrl);
+
+    @Query("SELECT MAX(g.displayOrder) FROM GalleryImage g")
+    Integer findMaxDisplayOrder();
+
+    @Query("SELECT g.displayOrder FROM GalleryImage g WHERE g.id = :id")
+    Optional<Integer> findDisplayOrderById(@Param("id") Long id);
+
+    @Query("SELECT MIN(g.displayOrder) FROM GalleryImage g WHERE g.id <> :excludeId")
+    Integer findFirstDisplayOrder(@Param("excludeId") Long excludeId);
+
+    @Query("SELECT MIN(g.displayOrder) FROM GalleryImage g WHERE g.displayOrder > :order AND g.id <> :excludeId")
+    Integer findNextDisplayOrder(@Param("order") int order, @Param("excludeId") Long excludeId);
 }
\ No newline at end of file
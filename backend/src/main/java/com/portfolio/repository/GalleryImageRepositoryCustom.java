@@ -0,0 +1,28 @@
+package com.portfolio.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface GalleryImageRepositoryCustom {
+
+    /**
+     * Space the ids DisplayOrder.GAP apart in list order with a single UPDATE; returns rows changed
+     */
+    int applyOrder(List<Long> ids);
+
+    /**
+     * Smallest distance between consecutive display orders, or null with fewer than two rows
+     */
+    Integer findMinOrderGap();
+
+    /**
+     * Renumber every row DisplayOrder.GAP apart, keeping the current order; returns rows changed
+     */
+    int rebalance();
+
+    /**
+     * Those of the URLs that a gallery image other than excludeId, a project or a user profile still points at
+     */
+    Set<String> findUrlsInUse(Collection<String> urls, Long excludeId);
+}
@@ -0,0 +1,90 @@
+package com.portfolio.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class GalleryImageRepositoryImpl implements GalleryImageRepositoryCustom {
+
+    // unnest ... WITH ORDINALITY pairs every id with its position, so the whole ordering is one statement
+    private static final String APPLY_ORDER = """
+            UPDATE gallery_images t SET display_order = o.position * ?
+            FROM unnest(?::bigint[]) WITH ORDINALITY AS o(id, position)
+            WHERE t.id = o.id
+            """;
+
+    private static final String MIN_ORDER_GAP = """
+            SELECT MIN(gap) FROM (
+                SELECT display_order - lag(display_order) OVER (ORDER BY display_order, id) AS gap
+                FROM gallery_images
+            ) gaps
+            """;
+
+    private static final String REBALANCE = """
+            UPDATE gallery_images t SET display_order = r.position * ?
+            FROM (SELECT id, row_number() OVER (ORDER BY display_order, id) AS position FROM gallery_images) r
+            WHERE t.id = r.id AND t.display_order IS DISTINCT FROM r.position * ?
+            """;
+
+    // Several gallery rows can show one upload, and projects and profiles link to uploaded files too
+    private static final String URLS_IN_USE = """
+            SELECT u.url FROM unnest(?::text[]) AS u(url)
+            WHERE EXISTS (SELECT 1 FROM gallery_images g
+                          WHERE g.id <> ? AND (g.image_url = u.url OR g.thumbnail_url = u.url
+                              OR EXISTS (SELECT 1 FROM jsonb_each_text(g.variants) v WHERE v.value = u.url)))
+               OR EXISTS (SELECT 1 FROM projects p WHERE p.thumbnail_url = u.url OR p.demo_video_url = u.url)
+               OR EXISTS (SELECT 1 FROM users a WHERE a.avatar_url = u.url)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GalleryImageRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int applyOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(APPLY_ORDER);
+            Array array = connection.createArrayOf("bigint", ids.toArray());
+            statement.setInt(1, DisplayOrder.GAP);
+            statement.setArray(2, array);
+            return statement;
+        });
+    }
+
+    @Override
+    public Integer findMinOrderGap() {
+        return jdbcTemplate.queryForObject(MIN_ORDER_GAP, Integer.class);
+    }
+
+    @Override
+    public int rebalance() {
+        return jdbcTemplate.update(REBALANCE, DisplayOrder.GAP, DisplayOrder.GAP);
+    }
+
+    @Override
+    public Set<String> findUrlsInUse(Collection<String> urls, Long excludeId) {
+        Set<String> inUse = new HashSet<>();
+        if (urls.isEmpty()) {
+            return inUse;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(URLS_IN_USE);
+            statement.setArray(1, connection.createArrayOf("text", urls.toArray()));
+            statement.setLong(2, excludeId);
+            return statement;
+        }, rs -> {
+            inUse.add(rs.getString(1));
+        });
+        return inUse;
+    }
+}
@@ -0,0 +1,19 @@
+package com.portfolio.repository;
+
+/**
+ * Literal text inside SQL LIKE patterns. Queries using these must declare ESCAPE '\'
+ * (PostgreSQL's default, so native queries may omit it).
+ */
+final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    static String contains(String value) {
+        return "%" + escape(value) + "%";
+    }
+}
@@ -2,13 +2,15 @@ package com.portfolio.repository;
 
 import com.portfolio.model.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
 
     Optional<Project> findBySlug(String slug);
 
@@ -17,4 +19,16 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByFeaturedTrueOrderByDisplayOrderAsc();
 
     boolean existsBySlug(String slug);
+
+    @Query("SELECT MAX(p.displayOrder) FROM Project p")
+    Integer findMaxDisplayOrder();
+
+    @Query("SELECT p.displayOrder FROM Project p WHERE p.id = :id")
+    Optional<Integer> findDisplayOrderById(@Param("id") Long id);
+
+    @Query("SELECT MIN(p.displayOrder) FROM Project p WHERE p.id <> :excludeId")
+    Integer findFirstDisplayOrder(@Param("excludeId") Long excludeId);
+
+    @Query("SELECT MIN(p.displayOrder) FROM Project p WHERE p.displayOrder > :order AND p.id <> :excludeId")
+    Integer findNextDisplayOrder(@Param("order") int order, @Param("excludeId") Long excludeId);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.portfolio.repository;
+
+import java.util.List;
+
+public interface ProjectRepositoryCustom {
+
+    /**
+     * Space the ids DisplayOrder.GAP apart in list order with a single UPDATE; returns rows changed
+     */
+    int applyOrder(List<Long> ids);
+
+    /**
+     * Smallest distance between consecutive display orders, or null with fewer than two rows
+     */
+    Integer findMinOrderGap();
+
+    /**
+     * Renumber every row DisplayOrder.GAP apart, keeping the current order; returns rows changed
+     */
+    int rebalance();
+}
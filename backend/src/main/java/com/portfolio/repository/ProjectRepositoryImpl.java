@@ -0,0 +1,60 @@
+package com.portfolio.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+public class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    // unnest ... WITH ORDINALITY pairs every id with its position, so the whole ordering is one statement
+    private static final String APPLY_ORDER = """
+            UPDATE projects t SET display_order = o.position * ?
+            FROM unnest(?::bigint[]) WITH ORDINALITY AS o(id, position)
+            WHERE t.id = o.id
+            """;
+
+    private static final String MIN_ORDER_GAP = """
+            SELECT MIN(gap) FROM (
+                SELECT display_order - lag(display_order) OVER (ORDER BY display_order, id) AS gap
+                FROM projects
+            ) gaps
+            """;
+
+    private static final String REBALANCE = """
+            UPDATE projects t SET display_order = r.position * ?
+            FROM (SELECT id, row_number() OVER (ORDER BY display_order, id) AS position FROM projects) r
+            WHERE t.id = r.id AND t.display_order IS DISTINCT FROM r.position * ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProjectRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int applyOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(APPLY_ORDER);
+            Array array = connection.createArrayOf("bigint", ids.toArray());
+            statement.setInt(1, DisplayOrder.GAP);
+            statement.setArray(2, array);
+            return statement;
+        });
+    }
+
+    @Override
+    public Integer findMinOrderGap() {
+        return jdbcTemplate.queryForObject(MIN_ORDER_GAP, Integer.class);
+    }
+
+    @Override
+    public int rebalance() {
+        return jdbcTemplate.update(REBALANCE, DisplayOrder.GAP, DisplayOrder.GAP);
+    }
+}
@@ -0,0 +1,218 @@
+package com.portfolio.repository;
+
+import com.portfolio.service.Slugifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Picks a free slug for a new or renamed row: the slugified text itself, or that with the lowest unused numeric
+ * suffix ("title-1", "title-2", ...), in one query however many rows already share the base.
+ * A transaction-scoped advisory lock on the base makes concurrent creates of the same title wait for
+ * each other, so the caller must insert the row in the same transaction. A suffixed slug is some other
+ * title's base ("Title" can be given "title-1", which is also what "Title 1" slugifies to), so it is
+ * locked too and checked again before it is handed out.
+ */
+@Repository
+public class SlugAllocator {
+
+    public enum Target {
+        POSTS("blog_posts", 255, "post"),
+        PROJECTS("projects", 255, "project"),
+        TAGS("tags", 50, "tag");
+
+        private final String table;
+        private final int maxLength;
+        // Used when nothing in the text survives slugification (emoji-only titles and the like)
+        private final String fallback;
+
+        Target(String table, int maxLength, String fallback) {
+            this.table = table;
+            this.maxLength = maxLength;
+            this.fallback = fallback;
+        }
+
+        /**
+         * Slug column length
+         */
+        public int maxLength() {
+            return maxLength;
+        }
+    }
+
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext(?))";
+
+    // Keys arrive sorted, so two batches sharing bases always lock them in the same order
+    private static final String LOCK_ALL = "SELECT pg_advisory_xact_lock(hashtext(k)) FROM unnest(?::text[]) AS k";
+
+    private static final String TAKEN = "SELECT EXISTS (SELECT 1 FROM %s WHERE slug = ? AND id IS DISTINCT FROM ?::bigint)";
+
+    // A suffix is at most 19 digits, and shortening the base to fit one drops at most one more hyphen
+    private static final int MAX_TAIL = 21;
+
+    // 0 when the bare base is free, otherwise the lowest suffix not taken. The LIKE prefix keeps this
+    // to one range scan of the text_pattern_ops index SchemaInitializer creates on each slug column.
+    private static final String NEXT_SUFFIX = """
+            WITH taken AS (
+                SELECT CASE WHEN slug = ? THEN 0 ELSE substring(slug FROM ?)::bigint END AS n
+                FROM %s
+                WHERE slug LIKE ? ESCAPE '\\'
+                  AND (slug = ? OR substring(slug FROM ?) ~ '^[1-9][0-9]{0,17}$')
+                  AND id IS DISTINCT FROM ?::bigint
+            )
+            SELECT CASE
+                WHEN NOT EXISTS (SELECT 1 FROM taken WHERE n = 0) THEN 0
+                ELSE (SELECT min(t.n + 1) FROM taken t WHERE NOT EXISTS (SELECT 1 FROM taken u WHERE u.n = t.n + 1))
+            END
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SlugAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Unique slug for a new row of the target, at most its column length
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String allocate(Target target, String text) {
+        return allocate(target, text, null);
+    }
+
+    /**
+     * Unique slug for an existing row being renamed. Its own current slug counts as free,
+     * so a title that slugifies the same way keeps it
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String allocate(Target target, String text, Long excludeId) {
+        String base = baseOf(target, Slugifier.slugify(text, target.maxLength));
+        while (true) {
+            lock(target, base);
+            Long suffix = jdbcTemplate.queryForObject(NEXT_SUFFIX.formatted(target.table), Long.class,
+                    base, base.length() + 2, LikePatterns.escape(base) + "%", base, base.length() + 2, excludeId);
+            if (suffix == null || suffix == 0) {
+                return base;
+            }
+            String tail = "-" + suffix;
+            if (base.length() + tail.length() > target.maxLength) {
+                // Only reachable for titles near the column length: shorten the base to make room and look again
+                base = baseOf(target, base.substring(0, target.maxLength - tail.length()));
+                continue;
+            }
+            String slug = base + tail;
+            // Waits for a transaction allocating with this slug as its base; once it commits the row is visible
+            lock(target, slug);
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TAKEN.formatted(target.table), Boolean.class,
+                    slug, excludeId))) {
+                return slug;
+            }
+        }
+    }
+
+    /**
+     * Unique slugs for several new rows at once, in the order of the texts. Takes one lock statement and
+     * one query whatever the batch size, and one more of each when some texts need a suffix; texts that
+     * slugify alike get successive suffixes
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<String> allocateAll(Target target, List<String> texts) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+        List<String> bases = new ArrayList<>(texts.size());
+        Set<String> keys = new TreeSet<>();
+        Set<String> prefixes = new HashSet<>();
+        for (String text : texts) {
+            String base = baseOf(target, Slugifier.slugify(text, target.maxLength));
+            bases.add(base);
+            keys.add(target.table + ":" + base);
+            // Short enough to also cover whatever the base may be cut down to when a suffix doesn't fit.
+            prefixes.add(LikePatterns.escape(base.substring(0, Math.min(base.length(), target.maxLength - MAX_TAIL))) + "%");
+        }
+
+        lockAll(keys);
+        Set<String> taken = new HashSet<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT slug FROM %s WHERE slug LIKE ANY (?::text[])".formatted(target.table));
+            statement.setArray(1, connection.createArrayOf("text", prefixes.toArray()));
+            return statement;
+        }, rs -> {
+            taken.add(rs.getString(1));
+        });
+
+        while (true) {
+            Set<String> assigned = new HashSet<>();
+            List<String> slugs = new ArrayList<>(bases.size());
+            Set<String> suffixed = new TreeSet<>();
+            for (String base : bases) {
+                String slug = firstFree(target, base, taken, assigned);
+                assigned.add(slug);
+                slugs.add(slug);
+                if (!slug.equals(base)) {
+                    suffixed.add(target.table + ":" + slug);
+                }
+            }
+            if (suffixed.isEmpty()) {
+                return slugs;
+            }
+
+            // As in allocate: suffixed slugs may be another transaction's base, so lock them and check again
+            lockAll(suffixed);
+            List<String> raced = new ArrayList<>();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "SELECT slug FROM %s WHERE slug = ANY (?::text[])".formatted(target.table));
+                statement.setArray(1, connection.createArrayOf("text", assigned.toArray()));
+                return statement;
+            }, rs -> {
+                raced.add(rs.getString(1));
+            });
+            if (raced.isEmpty()) {
+                return slugs;
+            }
+            taken.addAll(raced);
+        }
+    }
+
+    private void lock(Target target, String slug) {
+        jdbcTemplate.query(LOCK, rs -> { }, target.table + ":" + slug);
+    }
+
+    private void lockAll(Set<String> keys) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_ALL);
+            statement.setArray(1, connection.createArrayOf("text", keys.toArray()));
+            return statement;
+        }, rs -> { });
+    }
+
+    private static String firstFree(Target target, String base, Set<String> taken, Set<String> assigned) {
+        String slug = base;
+        for (long suffix = 1; taken.contains(slug) || assigned.contains(slug); suffix++) {
+            String tail = "-" + suffix;
+            if (base.length() + tail.length() > target.maxLength) {
+                base = baseOf(target, base.substring(0, target.maxLength - tail.length()));
+            }
+            slug = base + tail;
+        }
+        return slug;
+    }
+
+    private static String baseOf(Target target, String slug) {
+        int end = slug.length();
+        while (end > 0 && slug.charAt(end - 1) == '-') {
+            end--;
+        }
+        return end == 0 ? target.fallback : slug.substring(0, end);
+    }
+}
@@ -4,15 +4,19 @@ import com.portfolio.model.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TagRepository extends JpaRepository<Tag, Long> {
+public interface TagRepository extends JpaRepository<Tag, Long>, TagRepositoryCustom {
 
     Optional<Tag> findBySlug(String slug);
 
     Optional<Tag> findByName(String name);
 
+    List<Tag> findByNameIn(Collection<String> names);
+
     boolean existsBySlug(String slug);
 
     boolean existsByName(String name);
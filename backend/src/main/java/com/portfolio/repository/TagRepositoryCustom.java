@@ -0,0 +1,12 @@
+package com.portfolio.repository;
+
+import java.util.List;
+
+public interface TagRepositoryCustom {
+
+    /**
+     * Insert tags with the paired names and slugs in one statement, skipping any whose name or slug
+     * already exists (including rows a concurrent transaction commits meanwhile); returns rows inserted
+     */
+    int insertIgnoringConflicts(List<String> names, List<String> slugs);
+}
@@ -0,0 +1,34 @@
+package com.portfolio.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+public class TagRepositoryImpl implements TagRepositoryCustom {
+
+    private static final String INSERT_IGNORING_CONFLICTS = """
+            INSERT INTO tags (name, slug, created_at)
+            SELECT t.name, t.slug, now() FROM unnest(?::text[], ?::text[]) AS t(name, slug)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TagRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertIgnoringConflicts(List<String> names, List<String> slugs) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_IGNORING_CONFLICTS);
+            statement.setArray(1, connection.createArrayOf("text", names.toArray()));
+            statement.setArray(2, connection.createArrayOf("text", slugs.toArray()));
+            return statement;
+        });
+    }
+}
@@ -0,0 +1,438 @@
+package com.portfolio.search;
+
+import com.portfolio.dto.PostSearchHit;
+import com.portfolio.model.BlogPost;
+import com.portfolio.model.Tag;
+import com.portfolio.repository.BlogPostRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over published blog posts, scored with BM25.
+ * Enabled with app.search.engine=memory; built at startup and kept current by BlogPostService.
+ * Posting lists are parallel int arrays sorted by document number, so lookups never box.
+ * Only ranking data is kept: callers load summaries by id, so view and comment counts are always current.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Term frequency multipliers per field
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int EXCERPT_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int SNIPPET_RADIUS = 80;
+
+    private final BlogPostRepository blogPostRepository;
+    private final Timer buildTimer;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock. Document numbers only grow, so appending keeps posting lists sorted.
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> docByPostId = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private long totalLength;
+    private int liveDocuments;
+    private long postingCount;
+
+    public SearchIndex(BlogPostRepository blogPostRepository, MeterRegistry meterRegistry) {
+        this.blogPostRepository = blogPostRepository;
+        this.buildTimer = Timer.builder("search.index.build")
+                .description("Time taken to build the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.documents", this, SearchIndex::documentCount)
+                .description("Posts in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.terms", this, SearchIndex::termCount)
+                .description("Distinct terms in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.postings", this, SearchIndex::postingCount)
+                .description("Postings stored in the in-memory search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the index from every published post
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        buildTimer.record(() -> {
+            List<Document> loaded = blogPostRepository.findAllPublishedWithTags().stream()
+                    .map(SearchIndex::toDocument)
+                    .toList();
+            lock.writeLock().lock();
+            try {
+                clear();
+                loaded.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        log.info("Search index built: {} posts, {} terms", documentCount(), termCount());
+    }
+
+    /**
+     * Add or replace a post once the surrounding transaction commits. Unpublished posts are removed.
+     */
+    public void index(BlogPost post) {
+        if (!Boolean.TRUE.equals(post.getPublished())) {
+            remove(post.getId());
+            return;
+        }
+        // Snapshot now, while tags are still loaded, and apply after commit
+        Document document = toDocument(post);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(document.postId());
+                add(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Remove a post once the surrounding transaction commits
+     */
+    public void remove(Long postId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(postId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * BM25 search. With prefix, the last query term also matches every indexed term starting with it.
+     */
+    public List<PostSearchHit> search(String query, boolean prefix, int page, int size) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocuments == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / liveDocuments;
+            float[] scores = new float[documents.size()];
+
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String term = queryTerms.get(i);
+                if (prefix && i == queryTerms.size() - 1) {
+                    int expansions = 0;
+                    for (Postings postings : prefixRange(term).values()) {
+                        accumulate(postings, scores, averageLength);
+                        if (++expansions == MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                    }
+                } else {
+                    Postings postings = terms.get(term);
+                    if (postings != null) {
+                        accumulate(postings, scores, averageLength);
+                    }
+                }
+            }
+
+            long[] ranked = rank(scores);
+            int from = Math.max(page, 0) * size;
+            int to = Math.min(ranked.length, from + size);
+            List<PostSearchHit> results = new ArrayList<>(Math.max(to - from, 0));
+            for (int i = from; i < to; i++) {
+                Document document = documents.get((int) ranked[i]);
+                float score = Float.intBitsToFloat((int) (ranked[i] >>> 32));
+                results.add(new Hit(document.postId(), (double) score, snippet(document.content(), queryTerms)));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long postingCount() {
+        lock.readLock().lock();
+        try {
+            return postingCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void accumulate(Postings postings, float[] scores, double averageLength) {
+        double idf = Math.log(1 + (liveDocuments - postings.size + 0.5) / (postings.size + 0.5));
+        for (int i = 0; i < postings.size; i++) {
+            int doc = postings.docs[i];
+            int tf = postings.freqs[i];
+            double norm = K1 * (1 - B + B * documents.get(doc).length() / averageLength);
+            scores[doc] += (float) (idf * tf * (K1 + 1) / (tf + norm));
+        }
+    }
+
+    /**
+     * Matching documents, best first, each packed as (score bits << 32 | document number).
+     * Positive float bits order the same way as the floats, so a plain long sort ranks them.
+     */
+    private static long[] rank(float[] scores) {
+        int matches = 0;
+        for (float score : scores) {
+            if (score > 0) {
+                matches++;
+            }
+        }
+        long[] packed = new long[matches];
+        int n = 0;
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] > 0) {
+                packed[n++] = ((long) Float.floatToIntBits(scores[doc]) << 32) | doc;
+            }
+        }
+        Arrays.sort(packed);
+        // Reverse for descending score
+        for (int i = 0, j = packed.length - 1; i < j; i++, j--) {
+            long tmp = packed[i];
+            packed[i] = packed[j];
+            packed[j] = tmp;
+        }
+        return packed;
+    }
+
+    private NavigableMap<String, Postings> prefixRange(String prefix) {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void add(Document document) {
+        int doc = documents.size();
+        documents.add(document);
+        docByPostId.put(document.postId(), doc);
+        for (int i = 0; i < document.terms().length; i++) {
+            terms.computeIfAbsent(document.terms()[i], t -> new Postings()).append(doc, document.freqs()[i]);
+        }
+        totalLength += document.length();
+        liveDocuments++;
+        postingCount += document.terms().length;
+    }
+
+    private void delete(Long postId) {
+        Integer doc = docByPostId.remove(postId);
+        if (doc == null) {
+            return;
+        }
+        Document document = documents.set(doc, null);
+        for (String term : document.terms()) {
+            Postings postings = terms.get(term);
+            postings.remove(doc);
+            if (postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+        totalLength -= document.length();
+        liveDocuments--;
+        postingCount -= document.terms().length;
+        compactIfSparse();
+    }
+
+    /**
+     * Renumber documents once most slots are tombstones, so score arrays stay proportional to live posts
+     */
+    private void compactIfSparse() {
+        if (documents.size() < 64 || liveDocuments * 2 > documents.size()) {
+            return;
+        }
+        List<Document> live = documents.stream().filter(d -> d != null).toList();
+        clear();
+        live.forEach(this::add);
+    }
+
+    private void clear() {
+        terms.clear();
+        docByPostId.clear();
+        documents.clear();
+        totalLength = 0;
+        liveDocuments = 0;
+        postingCount = 0;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Document toDocument(BlogPost post) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        count(frequencies, post.getTitle(), TITLE_WEIGHT);
+        count(frequencies, post.getExcerpt(), EXCERPT_WEIGHT);
+        count(frequencies, post.getContent(), CONTENT_WEIGHT);
+        for (Tag tag : post.getTags()) {
+            count(frequencies, tag.getName(), TAG_WEIGHT);
+        }
+
+        String[] docTerms = new String[frequencies.size()];
+        int[] freqs = new int[frequencies.size()];
+        int length = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            docTerms[i] = entry.getKey();
+            freqs[i] = entry.getValue();
+            length += entry.getValue();
+            i++;
+        }
+
+        return new Document(post.getId(), post.getContent(), docTerms, freqs, length);
+    }
+
+    private static void count(Map<String, Integer> frequencies, String text, int weight) {
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Lower-case runs of letters and digits
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Window of the content around the first query term, with matches marked like ts_headline does
+     */
+    private static String snippet(String content, List<String> queryTerms) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        String lower = content.toLowerCase(Locale.ROOT);
+        if (lower.length() != content.length()) {
+            // Some case mappings change length; fall back to exact matching so offsets stay valid
+            lower = content;
+        }
+        int hit = -1;
+        String matched = null;
+        for (String term : queryTerms) {
+            int at = lower.indexOf(term);
+            if (at >= 0 && (hit < 0 || at < hit)) {
+                hit = at;
+                matched = term;
+            }
+        }
+        if (hit < 0) {
+            return content.substring(0, Math.min(content.length(), SNIPPET_RADIUS * 2));
+        }
+        int from = Math.max(0, hit - SNIPPET_RADIUS);
+        int to = Math.min(content.length(), hit + matched.length() + SNIPPET_RADIUS);
+        return content.substring(from, hit) + "<mark>" + content.substring(hit, hit + matched.length()) + "</mark>"
+                + content.substring(hit + matched.length(), to);
+    }
+
+    private record Document(Long postId, String content, String[] terms, int[] freqs, int length) {
+    }
+
+    // Same shape as a row of the PostgreSQL search query, so BlogPostService resolves both alike
+    private record Hit(Long getId, Double getRank, String getSnippet) implements PostSearchHit {
+    }
+
+    /**
+     * Documents containing a term and the term's weighted frequency in each, sorted by document number
+     */
+    private static final class Postings {
+
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void append(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void remove(int doc) {
+            int at = Arrays.binarySearch(docs, 0, size, doc);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+            System.arraycopy(freqs, at + 1, freqs, at, size - at - 1);
+            size--;
+        }
+    }
+}
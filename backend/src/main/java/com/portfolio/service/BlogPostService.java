@@ -1,35 +1,92 @@
 package com.portfolio.service;
 
+import com.portfolio.config.CacheConfig;
+import com.portfolio.dto.BlogPostSummary;
+import com.portfolio.dto.CursorPage;
+import com.portfolio.dto.KeysetCursor;
+import com.portfolio.dto.PostSearchHit;
+import com.portfolio.dto.PostSearchResult;
+import com.portfolio.dto.PostTagSummary;
+import com.portfolio.dto.TagSummary;
 import com.portfolio.model.BlogPost;
-import com.portfolio.model.Tag;
 import com.portfolio.model.User;
 import com.portfolio.repository.BlogPostRepository;
-import com.portfolio.repository.TagRepository;
+import com.portfolio.repository.SlugAllocator;
+import com.portfolio.search.SearchIndex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class BlogPostService {
 
     private final BlogPostRepository blogPostRepository;
-    private final TagRepository tagRepository;
+    private final TagService tagService;
+    private final SlugAllocator slugAllocator;
+    private final ViewCountBuffer viewCountBuffer;
+    private final ObjectProvider<SearchIndex> searchIndex;
 
-    public BlogPostService(BlogPostRepository blogPostRepository, TagRepository tagRepository) {
+    @Value("${app.posts.page-size:10}")
+    private int defaultPageSize;
+
+    @Value("${app.posts.max-page-size:50}")
+    private int maxPageSize;
+
+    public BlogPostService(BlogPostRepository blogPostRepository, TagService tagService,
+                           SlugAllocator slugAllocator, ViewCountBuffer viewCountBuffer,
+                           ObjectProvider<SearchIndex> searchIndex) {
         this.blogPostRepository = blogPostRepository;
-        this.tagRepository = tagRepository;
+        this.tagService = tagService;
+        this.slugAllocator = slugAllocator;
+        this.viewCountBuffer = viewCountBuffer;
+        this.searchIndex = searchIndex;
     }
 
     /**
      * Get all published blog posts
      */
     @Transactional(readOnly = true)
-    public List<BlogPost> getAllPublishedPosts() {
-        return blogPostRepository.findByPublishedTrueOrderByCreatedAtDesc();
+    @Cacheable(CacheConfig.PUBLISHED_POSTS)
+    public List<BlogPostSummary> getAllPublishedPosts() {
+        return withTags(blogPostRepository.findPublishedSummaries());
+    }
+
+    /**
+     * Get one page of published posts, newest first, starting after the given cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BlogPostSummary> getPublishedPostsPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra row to find out whether another page follows
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<BlogPostSummary> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = blogPostRepository.findPublishedFirstPage(limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            posts = blogPostRepository.findPublishedPageAfter(position.createdAt(), position.id(), limit);
+        }
+
+        if (posts.size() <= pageSize) {
+            return new CursorPage<>(withTags(posts), null);
+        }
+        List<BlogPostSummary> page = withTags(posts.subList(0, pageSize));
+        BlogPostSummary last = page.get(pageSize - 1);
+        return new CursorPage<>(page, new KeysetCursor(last.createdAt(), last.id()).encode());
     }
 
     /**
@@ -60,56 +117,72 @@ public class BlogPostService {
      * Search posts by title
      */
     @Transactional(readOnly = true)
-    public List<BlogPost> searchPostsByTitle(String title) {
-        return blogPostRepository.findByTitleContainingIgnoreCaseAndPublishedTrue(title);
+    public List<BlogPostSummary> searchPostsByTitle(String title) {
+        return withTags(blogPostRepository.findPublishedSummariesByTitle(title));
+    }
+
+    /**
+     * Full-text search over title, excerpt, content and tag names, best matches first.
+     * Served from the in-memory SearchIndex when enabled, otherwise from PostgreSQL.
+     * Prefix matching of the last term is only supported by the in-memory index.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<PostSearchResult> searchPosts(String query, boolean prefix, int page, Integer size) {
+        int pageSize = resolvePageSize(size);
+        SearchIndex index = searchIndex.getIfAvailable();
+        List<PostSearchHit> hits = index != null
+                ? index.search(query, prefix, page, pageSize)
+                : blogPostRepository.searchPublished(query, pageSize, Math.max(page, 0) * pageSize);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        // Both engines only rank; summaries come from the table so counts match the listings
+        Map<Long, BlogPostSummary> summaries = withTags(blogPostRepository.findSummariesByIds(
+                hits.stream().map(PostSearchHit::getId).toList())).stream()
+                .collect(Collectors.toMap(BlogPostSummary::id, Function.identity()));
+        return hits.stream()
+                // A post deleted since the in-memory index ranked it
+                .filter(hit -> summaries.containsKey(hit.getId()))
+                .map(hit -> new PostSearchResult(summaries.get(hit.getId()), hit.getRank(), hit.getSnippet()))
+                .toList();
     }
 
     /**
      * Get posts by tag
      */
     @Transactional(readOnly = true)
-    public List<BlogPost> getPostsByTag(String tagSlug) {
-        return blogPostRepository.findByTagSlugAndPublishedTrue(tagSlug);
+    public List<BlogPostSummary> getPostsByTag(String tagSlug) {
+        return withTags(blogPostRepository.findPublishedSummariesByTagSlug(tagSlug));
     }
 
     /**
      * Create new blog post
      */
+    // May create tags as a side effect
+    @CacheEvict(cacheNames = {CacheConfig.PUBLISHED_POSTS, CacheConfig.TAGS}, allEntries = true)
     public BlogPost createPost(BlogPost post, User author, Set<String> tagNames) {
-        // Generate slug from title
-        post.setSlug(generateSlug(post.getTitle()));
-
-        // Ensure slug is unique
-        String originalSlug = post.getSlug();
-        int counter = 1;
-        while (blogPostRepository.existsBySlug(post.getSlug())) {
-            post.setSlug(originalSlug + "-" + counter);
-            counter++;
-        }
+        // Generate a unique slug from title
+        post.setSlug(slugAllocator.allocate(SlugAllocator.Target.POSTS, post.getTitle()));
 
         post.setAuthor(author);
         post.setViewCount(0);
 
         // Add tags
-        if (tagNames != null && !tagNames.isEmpty()) {
-            for (String tagName : tagNames) {
-                Tag tag = tagRepository.findByName(tagName)
-                        .orElseGet(() -> {
-                            Tag newTag = new Tag();
-                            newTag.setName(tagName);
-                            newTag.setSlug(generateSlug(tagName));
-                            return tagRepository.save(newTag);
-                        });
-                post.addTag(tag);
-            }
+        if (tagNames != null) {
+            tagService.resolveTags(tagNames).forEach(post::addTag);
         }
 
-        return blogPostRepository.save(post);
+        BlogPost saved = blogPostRepository.save(post);
+        searchIndex.ifAvailable(index -> index.index(saved));
+        return saved;
     }
 
     /**
      * Update existing blog post
      */
+    // May create tags as a side effect
+    @CacheEvict(cacheNames = {CacheConfig.PUBLISHED_POSTS, CacheConfig.TAGS}, allEntries = true)
     public BlogPost updatePost(Long id, BlogPost updatedPost, Set<String> tagNames) {
         BlogPost post = blogPostRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
@@ -118,10 +191,7 @@ public class BlogPostService {
         if (updatedPost.getTitle() != null && !updatedPost.getTitle().equals(post.getTitle())) {
             post.setTitle(updatedPost.getTitle());
             // Regenerate slug if title changed
-            String newSlug = generateSlug(updatedPost.getTitle());
-            if (!newSlug.equals(post.getSlug()) && !blogPostRepository.existsBySlug(newSlug)) {
-                post.setSlug(newSlug);
-            }
+            post.setSlug(slugAllocator.allocate(SlugAllocator.Target.POSTS, updatedPost.getTitle(), post.getId()));
         }
 
         if (updatedPost.getContent() != null) {
@@ -139,59 +209,64 @@ public class BlogPostService {
         // Update tags
         if (tagNames != null) {
             post.getTags().clear();
-            for (String tagName : tagNames) {
-                Tag tag = tagRepository.findByName(tagName)
-                        .orElseGet(() -> {
-                            Tag newTag = new Tag();
-                            newTag.setName(tagName);
-                            newTag.setSlug(generateSlug(tagName));
-                            return tagRepository.save(newTag);
-                        });
-                post.addTag(tag);
-            }
+            tagService.resolveTags(tagNames).forEach(post::addTag);
         }
 
-        return blogPostRepository.save(post);
+        BlogPost saved = blogPostRepository.save(post);
+        searchIndex.ifAvailable(index -> index.index(saved));
+        return saved;
     }
 
     /**
      * Delete blog post
      */
+    @CacheEvict(cacheNames = CacheConfig.PUBLISHED_POSTS, allEntries = true)
     public void deletePost(Long id) {
         if (!blogPostRepository.existsById(id)) {
             throw new IllegalArgumentException("Post not found");
         }
         blogPostRepository.deleteById(id);
+        searchIndex.ifAvailable(index -> index.remove(id));
     }
 
     /**
      * Publish or unpublish a post
      */
+    @CacheEvict(cacheNames = CacheConfig.PUBLISHED_POSTS, allEntries = true)
     public BlogPost togglePublish(Long id) {
         BlogPost post = blogPostRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
         post.setPublished(!post.getPublished());
-        return blogPostRepository.save(post);
+        BlogPost saved = blogPostRepository.save(post);
+        searchIndex.ifAvailable(index -> index.index(saved));
+        return saved;
     }
 
     /**
-     * Increment view count
+     * Increment view count (buffered, written to the database by ViewCountBuffer)
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void incrementViewCount(Long id) {
-        blogPostRepository.findById(id).ifPresent(post -> {
-            post.setViewCount(post.getViewCount() + 1);
-            blogPostRepository.save(post);
-        });
+        viewCountBuffer.increment(id);
+    }
+
+    private int resolvePageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
     }
 
     /**
-     * Generate URL-friendly slug from title
+     * Attach tags to a list of summaries with a single query
      */
-    private String generateSlug(String text) {
-        return text.toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")  // Remove special characters
-                .replaceAll("\\s+", "-")           // Replace spaces with hyphens
-                .replaceAll("-+", "-")             // Replace multiple hyphens with single
-                .replaceAll("^-|-$", "");          // Remove leading/trailing hyphens
+    private List<BlogPostSummary> withTags(List<BlogPostSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        List<Long> postIds = summaries.stream().map(BlogPostSummary::id).toList();
+        Map<Long, List<TagSummary>> tagsByPost = blogPostRepository.findTagSummariesByPostIds(postIds).stream()
+                .collect(Collectors.groupingBy(PostTagSummary::postId,
+                        Collectors.mapping(PostTagSummary::toTagSummary, Collectors.toList())));
+        return summaries.stream()
+                .map(summary -> summary.withTags(tagsByPost.getOrDefault(summary.id(), List.of())))
+                .toList();
     }
 }
\ No newline at end of file
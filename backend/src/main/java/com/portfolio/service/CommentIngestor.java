@@ -0,0 +1,193 @@
+package com.portfolio.service;
+
+import com.portfolio.dto.PendingComment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous comment ingestion: requests only validate and enqueue, and a single writer drains
+ * the queue into multi-row inserts, so a burst of comments costs one statement per batch instead of
+ * one transaction per comment. The queue is bounded; when it is full submissions are refused rather
+ * than buffered. A batch whose write fails is retried with backoff, then written one comment at a
+ * time so a single bad row only loses itself. On shutdown the writer stops after the web server does
+ * and flushes what is left.
+ */
+@Component
+public class CommentIngestor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentIngestor.class);
+
+    // Stop after the web server (DEFAULT_PHASE - 2048) so nothing is enqueued once the final flush starts
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final CommentService commentService;
+    private final BlockingQueue<PendingComment> queue;
+    private final int batchSize;
+    private final long shutdownTimeoutMs;
+    private final int retries;
+    private final long retryBackoffMs;
+    private final boolean enabled;
+    private final Counter written;
+    private final Counter rejected;
+    private final Counter retried;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public CommentIngestor(CommentService commentService, MeterRegistry meterRegistry,
+                           @Value("${app.comments.ingest.mode:sync}") String mode,
+                           @Value("${app.comments.ingest.queue-capacity:10000}") int queueCapacity,
+                           @Value("${app.comments.ingest.batch-size:500}") int batchSize,
+                           @Value("${app.comments.ingest.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                           @Value("${app.comments.ingest.retries:3}") int retries,
+                           @Value("${app.comments.ingest.retry-backoff-ms:200}") long retryBackoffMs) {
+        this.commentService = commentService;
+        this.enabled = "async".equalsIgnoreCase(mode);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.retries = retries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.written = Counter.builder("comments.ingest.written").register(meterRegistry);
+        this.rejected = Counter.builder("comments.ingest.rejected")
+                .description("Comments refused because the queue was full")
+                .register(meterRegistry);
+        this.retried = Counter.builder("comments.ingest.retried")
+                .description("Batch writes retried after a failure")
+                .register(meterRegistry);
+        this.failed = Counter.builder("comments.ingest.failed")
+                .description("Queued comments dropped because they could not be written, even on their own")
+                .register(meterRegistry);
+        Gauge.builder("comments.ingest.queued", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    /**
+     * Whether POST /api/comments should enqueue instead of writing inline
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Validate and queue a comment. Throws IllegalArgumentException for a bad comment and
+     * IllegalStateException when the queue is full or shutting down
+     */
+    public PendingComment submit(Long postId, String content) {
+        if (!running) {
+            throw new IllegalStateException("Comment ingestion is not running");
+        }
+        PendingComment comment = commentService.prepareComment(postId, content);
+        if (!queue.offer(comment)) {
+            rejected.increment();
+            throw new IllegalStateException("Comment queue is full");
+        }
+        return comment;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "comment-writer");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive() || !queue.isEmpty()) {
+            log.warn("Comment writer did not finish within {} ms; {} queued comments dropped",
+                    shutdownTimeoutMs, queue.size());
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drain() {
+        List<PendingComment> batch = new ArrayList<>(batchSize);
+        // Keep going after stop() until the queue is empty
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingComment first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Whatever piled up while the previous batch was being written goes into this one
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                failed.increment(batch.size());
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingComment> batch) throws InterruptedException {
+        // The batch is one statement in one transaction, so a failed attempt wrote nothing and is safe to repeat
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                written.increment(commentService.writeComments(batch));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == retries) {
+                    log.error("Failed to write {} queued comments after {} retries", batch.size(), retries, e);
+                    break;
+                }
+                retried.increment();
+                log.warn("Failed to write {} queued comments, retrying in {} ms", batch.size(), backoffMs, e);
+            }
+            Thread.sleep(backoffMs);
+            backoffMs *= 2;
+        }
+        if (batch.size() == 1) {
+            failed.increment();
+            return;
+        }
+        // Still failing: likely one bad row (its post deleted since it was queued), so isolate it
+        for (PendingComment comment : batch) {
+            try {
+                written.increment(commentService.writeComments(List.of(comment)));
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.error("Dropped queued comment on post {}", comment.postId(), e);
+            }
+        }
+    }
+}
@@ -1,13 +1,26 @@
 package com.portfolio.service;
 
-import com.portfolio.model.BlogPost;
+import com.portfolio.config.CacheConfig;
+import com.portfolio.config.ResponseCacheFilter;
+import com.portfolio.dto.CommentView;
+import com.portfolio.dto.CursorPage;
+import com.portfolio.dto.KeysetCursor;
+import com.portfolio.dto.PendingComment;
 import com.portfolio.model.Comment;
 import com.portfolio.repository.BlogPostRepository;
 import com.portfolio.repository.CommentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 @Service
@@ -16,8 +29,16 @@ public class CommentService {
 
     private final CommentRepository commentRepository;
     private final BlogPostRepository blogPostRepository;
+    private final CommentStreamHub commentStreamHub;
+    private final ResponseCacheFilter responseCache;
     private final Random random = new Random();
 
+    @Value("${app.comments.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.comments.max-page-size:100}")
+    private int maxPageSize;
+
     // Lists for generating fun anonymous names (Google Docs style)
     private static final String[] ADJECTIVES = {
         "Anonymous", "Silent", "Mysterious", "Hidden", "Quiet", "Shy",
@@ -31,56 +52,146 @@ public class CommentService {
         "Lion", "Deer", "Otter", "Hawk", "Seal", "Cheetah"
     };
 
-    public CommentService(CommentRepository commentRepository, BlogPostRepository blogPostRepository) {
+    public CommentService(CommentRepository commentRepository, BlogPostRepository blogPostRepository,
+                          CommentStreamHub commentStreamHub, ResponseCacheFilter responseCache) {
         this.commentRepository = commentRepository;
         this.blogPostRepository = blogPostRepository;
+        this.commentStreamHub = commentStreamHub;
+        this.responseCache = responseCache;
     }
 
     /**
      * Get all comments for a blog post
      */
     @Transactional(readOnly = true)
-    public List<Comment> getCommentsByPostId(Long postId) {
-        return commentRepository.findByPostIdOrderByCreatedAtDesc(postId);
+    public List<CommentView> getCommentsByPostId(Long postId) {
+        return commentRepository.findViewsByPostId(postId);
+    }
+
+    /**
+     * Get one page of a post's comments, newest first, continuing after the cursor if given
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentView> getCommentsPage(Long postId, String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        // Fetch one extra row to find out whether another page follows
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<CommentView> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findFirstPage(postId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            comments = commentRepository.findPageAfter(postId, position.createdAt(), position.id(), limit);
+        }
+
+        if (comments.size() <= pageSize) {
+            return new CursorPage<>(comments, null);
+        }
+        List<CommentView> page = comments.subList(0, pageSize);
+        CommentView last = page.get(pageSize - 1);
+        return new CursorPage<>(List.copyOf(page), new KeysetCursor(last.createdAt(), last.id()).encode());
     }
 
     /**
-     * Get comment count for a post
+     * Get comment count for a post, read from the counter on the post row
      */
     @Transactional(readOnly = true)
     public Long getCommentCount(Long postId) {
-        return commentRepository.countByPostId(postId);
+        return blogPostRepository.findCommentCountById(postId).map(Integer::longValue).orElse(0L);
+    }
+
+    /**
+     * Subscribe to new and deleted comments on a post
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter streamComments(Long postId) {
+        if (!blogPostRepository.existsById(postId)) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        return commentStreamHub.subscribe(postId);
     }
 
     /**
      * Create new comment with auto-generated anonymous name
      */
+    @CacheEvict(cacheNames = CacheConfig.PUBLISHED_POSTS, allEntries = true)
     public Comment createComment(Long postId, String content) {
-        BlogPost post = blogPostRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        // Relative update, so concurrent comments on the same post don't overwrite each other. It also
+        // tells us whether the post exists, so the post itself is never loaded, only referenced.
+        if (blogPostRepository.adjustCommentCount(postId, 1) == 0) {
+            throw new IllegalArgumentException("Post not found");
+        }
 
         Comment comment = new Comment();
         comment.setContent(content);
-        comment.setPost(post);
+        comment.setPost(blogPostRepository.getReferenceById(postId));
         comment.setAnonymousName(generateAnonymousName());
 
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+
+        CommentView view = CommentView.of(saved);
+        afterCommit(() -> commentStreamHub.publishCreated(postId, view));
+        return saved;
+    }
+
+    /**
+     * Check a comment for asynchronous ingestion and give it its name and timestamp; nothing is written yet
+     */
+    @Transactional(readOnly = true)
+    public PendingComment prepareComment(Long postId, String content) {
+        if (content == null || content.isBlank()) {
+            throw new IllegalArgumentException("Comment is empty");
+        }
+        if (!blogPostRepository.existsById(postId)) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        return new PendingComment(postId, content, generateAnonymousName(), LocalDateTime.now());
+    }
+
+    /**
+     * Write a batch of queued comments and their count updates in one statement
+     */
+    @CacheEvict(cacheNames = CacheConfig.PUBLISHED_POSTS, allEntries = true)
+    public int writeComments(List<PendingComment> comments) {
+        Map<Long, List<CommentView>> written = commentRepository.insertBatch(comments);
+        afterCommit(() -> {
+            // The POST that queued these already invalidated, but a listing may have been re-cached since
+            responseCache.invalidate("comments");
+            written.forEach((postId, views) -> views.forEach(view -> commentStreamHub.publishCreated(postId, view)));
+        });
+        return written.values().stream().mapToInt(List::size).sum();
     }
 
     /**
      * Delete comment
      */
+    @CacheEvict(cacheNames = CacheConfig.PUBLISHED_POSTS, allEntries = true)
     public void deleteComment(Long id) {
-        if (!commentRepository.existsById(id)) {
-            throw new IllegalArgumentException("Comment not found");
-        }
-        commentRepository.deleteById(id);
+        Comment comment = commentRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
+        commentRepository.delete(comment);
+        Long postId = comment.getPost().getId();
+        blogPostRepository.adjustCommentCount(postId, -1);
+        afterCommit(() -> commentStreamHub.publishDeleted(postId, id));
+    }
+
+    /**
+     * Tell stream subscribers only once the change is visible to their next page load
+     */
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     /**
      * Generate a fun anonymous name (e.g., "Anonymous Penguin", "Silent Koala")
      */
-    private String generateAnonymousName() {
+    String generateAnonymousName() {
         String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
         String animal = ANIMALS[random.nextInt(ANIMALS.length)];
         return adjective + " " + animal;
@@ -0,0 +1,211 @@
+package com.portfolio.service;
+
+import com.portfolio.config.AsyncConfig;
+import com.portfolio.dto.CommentView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans new comments out to readers subscribed to a post over Server-Sent Events.
+ * Idle connections hold no thread: each subscriber has a small bounded queue, and a pooled
+ * worker drains it only while it has events. A subscriber whose queue overflows is too slow
+ * to keep up and is disconnected; the client reconnects and reloads the first page.
+ */
+@Component
+public class CommentStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentStreamHub.class);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Executor executor;
+    private final Counter evictions;
+
+    @Value("${app.comments.stream.buffer:32}")
+    private int bufferSize;
+
+    @Value("${app.comments.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.comments.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.comments.stream.retry-ms:5000}")
+    private long retryMs;
+
+    public CommentStreamHub(@Qualifier(AsyncConfig.STREAM_EXECUTOR) Executor executor, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.evictions = Counter.builder("comments.stream.evictions")
+                .description("Subscribers disconnected for falling behind")
+                .register(meterRegistry);
+        Gauge.builder("comments.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open comment streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream for a post, or throw IllegalStateException when the hub is full
+     */
+    public SseEmitter subscribe(Long postId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many open comment streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(postId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        // Add inside the map operation: remove() may drop an emptied set for this post at any moment,
+        // and a subscriber added to a set no longer in the map would never hear anything
+        subscribers.compute(postId, (id, set) -> {
+            Set<Subscriber> watching = set != null ? set : ConcurrentHashMap.newKeySet();
+            watching.add(subscriber);
+            return watching;
+        });
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // Flush headers right away so proxies and EventSource see an open stream. The reconnect delay is
+        // jittered so that clients dropped together, e.g. by a restart, don't all come back at once.
+        long retry = retryMs + ThreadLocalRandom.current().nextLong(retryMs + 1);
+        enqueue(subscriber, SseEmitter.event().comment("connected").reconnectTime(retry));
+        return emitter;
+    }
+
+    /**
+     * Send a new comment to everyone watching its post
+     */
+    public void publishCreated(Long postId, CommentView comment) {
+        broadcast(postId, () -> SseEmitter.event().name("comment").id(String.valueOf(comment.id())).data(comment));
+    }
+
+    /**
+     * Tell everyone watching a post that a comment was removed
+     */
+    public void publishDeleted(Long postId, Long commentId) {
+        broadcast(postId, () -> SseEmitter.event().name("comment-deleted").data(Map.of("id", commentId)));
+    }
+
+    /**
+     * Keep idle connections from being closed by proxies, and find the ones that are already dead
+     */
+    @Scheduled(fixedRateString = "${app.comments.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber ->
+                enqueue(subscriber, SseEmitter.event().comment("keepalive"))));
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter().complete()));
+    }
+
+    private void broadcast(Long postId, Supplier<SseEmitter.SseEventBuilder> event) {
+        Set<Subscriber> watching = subscribers.get(postId);
+        if (watching == null || watching.isEmpty()) {
+            return;
+        }
+        watching.forEach(subscriber -> enqueue(subscriber, event.get()));
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue().offer(event)) {
+            evictions.increment();
+            log.debug("Evicting slow comment stream subscriber on post {}", subscriber.postId());
+            evict(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining().compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(subscriber));
+        } catch (TaskRejectedException e) {
+            subscriber.draining().set(false);
+            evictions.increment();
+            evict(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue().poll()) != null) {
+                subscriber.emitter().send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining().set(false);
+        }
+        // An event may have arrived after the last poll but before the flag was cleared
+        if (!subscriber.queue().isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        remove(subscriber);
+        subscriber.emitter().complete();
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> watching = subscribers.get(subscriber.postId());
+        if (watching != null && watching.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            subscriber.queue().clear();
+            subscribers.computeIfPresent(subscriber.postId(), (id, set) -> set.isEmpty() ? null : set);
+        }
+    }
+
+    private record Subscriber(Long postId, SseEmitter emitter, Queue<SseEmitter.SseEventBuilder> queue,
+                              AtomicBoolean draining) {
+
+        Subscriber(Long postId, SseEmitter emitter, Queue<SseEmitter.SseEventBuilder> queue) {
+            this(postId, emitter, queue, new AtomicBoolean());
+        }
+
+        // Identity semantics: two subscribers on the same post are never equal
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.portfolio.service;
+
+import com.portfolio.config.ResponseCacheFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically restores room between display orders so moves keep touching a single row
+ */
+@Component
+public class DisplayOrderRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(DisplayOrderRebalancer.class);
+
+    private final GalleryImageService galleryImageService;
+    private final ProjectService projectService;
+    private final ResponseCacheFilter responseCache;
+
+    @Value("${app.display-order.min-gap:32}")
+    private int minGap;
+
+    public DisplayOrderRebalancer(GalleryImageService galleryImageService, ProjectService projectService,
+                                  ResponseCacheFilter responseCache) {
+        this.galleryImageService = galleryImageService;
+        this.projectService = projectService;
+        this.responseCache = responseCache;
+    }
+
+    @Scheduled(initialDelayString = "${app.display-order.rebalance-initial-delay-ms:10000}",
+               fixedDelayString = "${app.display-order.rebalance-interval-ms:3600000}")
+    public void rebalance() {
+        if (galleryImageService.rebalanceDisplayOrderIfCrowded(minGap)) {
+            log.info("Rebalanced gallery display order");
+            responseCache.invalidate("gallery");
+        }
+        if (projectService.rebalanceDisplayOrderIfCrowded(minGap)) {
+            log.info("Rebalanced project display order");
+            responseCache.invalidate("projects");
+        }
+    }
+}
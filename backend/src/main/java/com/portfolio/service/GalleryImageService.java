@@ -1,27 +1,52 @@
 package com.portfolio.service;
 
+import com.portfolio.config.CacheConfig;
+import com.portfolio.dto.ImageDerivatives;
 import com.portfolio.model.GalleryImage;
+import com.portfolio.repository.DisplayOrder;
 import com.portfolio.repository.GalleryImageRepository;
+import com.portfolio.storage.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
 
 @Service
 @Transactional
 public class GalleryImageService {
 
+    private static final Logger log = LoggerFactory.getLogger(GalleryImageService.class);
+
     private final GalleryImageRepository galleryImageRepository;
+    private final BlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
 
-    public GalleryImageService(GalleryImageRepository galleryImageRepository) {
+    public GalleryImageService(GalleryImageRepository galleryImageRepository, BlobStore blobStore,
+                               ImageDerivativeService imageDerivativeService) {
         this.galleryImageRepository = galleryImageRepository;
+        this.blobStore = blobStore;
+        this.imageDerivativeService = imageDerivativeService;
     }
 
     /**
      * Get all gallery images ordered by display order
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.GALLERY, key = "'displayOrder'")
     public List<GalleryImage> getAllImages() {
         return galleryImageRepository.findAllByOrderByDisplayOrderAsc();
     }
@@ -30,6 +55,7 @@ public class GalleryImageService {
      * Get all gallery images ordered by upload date (newest first)
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.GALLERY, key = "'uploadedAt'")
     public List<GalleryImage> getAllImagesByUploadDate() {
         return galleryImageRepository.findAllByOrderByUploadedAtDesc();
     }
@@ -45,35 +71,77 @@ public class GalleryImageService {
     /**
      * Upload new image
      */
+    @CacheEvict(cacheNames = CacheConfig.GALLERY, allEntries = true)
     public GalleryImage uploadImage(String imageUrl, String thumbnailUrl, String caption) {
         GalleryImage image = new GalleryImage();
         image.setImageUrl(imageUrl);
         image.setThumbnailUrl(thumbnailUrl);
         image.setCaption(caption);
 
-        // Set display order as last
-        long count = galleryImageRepository.count();
-        image.setDisplayOrder((int) count + 1);
+        image.setDisplayOrder(nextDisplayOrder());
 
-        return galleryImageRepository.save(image);
+        return saveNewImage(image);
     }
 
     /**
      * Upload image with existing GalleryImage object
      */
+    @CacheEvict(cacheNames = CacheConfig.GALLERY, allEntries = true)
     public GalleryImage uploadImage(GalleryImage image) {
         // Set default display order if not specified
         if (image.getDisplayOrder() == null || image.getDisplayOrder() == 0) {
-            long count = galleryImageRepository.count();
-            image.setDisplayOrder((int) count + 1);
+            image.setDisplayOrder(nextDisplayOrder());
         }
 
-        return galleryImageRepository.save(image);
+        return saveNewImage(image);
+    }
+
+    private GalleryImage saveNewImage(GalleryImage image) {
+        Optional<ImageDerivatives> derivatives = imageDerivativeService.find(image.getImageUrl());
+        derivatives.ifPresent(d -> applyDerivatives(image, d));
+        GalleryImage saved = galleryImageRepository.save(image);
+
+        if (derivatives.isEmpty()) {
+            // Resizing may finish while this row is still uncommitted and miss it; check again afterwards
+            String imageUrl = image.getImageUrl();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    imageDerivativeService.applyIfReady(imageUrl);
+                }
+            });
+        }
+        return saved;
+    }
+
+    /**
+     * Attach generated variants to every image showing the given upload.
+     * Always commits on its own: it runs from the resizer thread and from afterCommit callbacks, where the
+     * surrounding transaction (if any) has already committed and would never flush these changes.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @CacheEvict(cacheNames = CacheConfig.GALLERY, allEntries = true)
+    public int applyDerivatives(String imageUrl, ImageDerivatives derivatives) {
+        List<GalleryImage> images = galleryImageRepository.findByImageUrl(imageUrl);
+        images.forEach(image -> applyDerivatives(image, derivatives));
+        return images.size();
+    }
+
+    private static void applyDerivatives(GalleryImage image, ImageDerivatives derivatives) {
+        image.setVariants(new LinkedHashMap<>(derivatives.variants()));
+        image.setPlaceholder(derivatives.placeholder());
+        // Only replace a thumbnail that is missing or just the original again
+        String smallest = derivatives.smallestVariantUrl();
+        if (smallest != null && (image.getThumbnailUrl() == null || image.getThumbnailUrl().isBlank()
+                || image.getThumbnailUrl().equals(image.getImageUrl()))) {
+            image.setThumbnailUrl(smallest);
+        }
     }
 
     /**
      * Update image caption
      */
+    @CacheEvict(cacheNames = CacheConfig.GALLERY, allEntries = true)
     public GalleryImage updateCaption(Long id, String caption) {
         GalleryImage image = galleryImageRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Image not found"));
@@ -84,6 +152,7 @@ public class GalleryImageService {
     /**
      * Update display order
      */
+    @CacheEvict(cacheNames = CacheConfig.GALLERY, allEntries = true)
     public GalleryImage updateDisplayOrder(Long id, int newOrder) {
         GalleryImage image = galleryImageRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Image not found"));
@@ -91,28 +160,107 @@ public class GalleryImageService {
         return galleryImageRepository.save(image);
     }
 
+    /**
+     * Move an image directly after another one (or to the front when afterId is null).
+     * Only the moved row is rewritten unless its new neighbours are adjacent, which triggers a renumber.
+     */
+    @CacheEvict(cacheNames = CacheConfig.GALLERY, allEntries = true)
+    public GalleryImage moveImage(Long id, Long afterId) {
+        if (id.equals(afterId)) {
+            throw new IllegalArgumentException("Cannot move an image after itself");
+        }
+        GalleryImage image = galleryImageRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Image not found"));
+
+        OptionalInt order = orderAfter(id, afterId);
+        if (order.isEmpty()) {
+            galleryImageRepository.rebalance();
+            order = orderAfter(id, afterId);
+        }
+        image.setDisplayOrder(order.orElseThrow());
+        return galleryImageRepository.save(image);
+    }
+
+    /**
+     * Renumber display orders when neighbouring items have drifted too close; returns whether anything changed
+     */
+    @CacheEvict(cacheNames = CacheConfig.GALLERY, allEntries = true)
+    public boolean rebalanceDisplayOrderIfCrowded(int minGap) {
+        Integer gap = galleryImageRepository.findMinOrderGap();
+        Integer last = galleryImageRepository.findMaxDisplayOrder();
+        boolean crowded = gap != null && gap < minGap;
+        boolean nearLimit = last != null && last > Integer.MAX_VALUE - minGap * DisplayOrder.GAP;
+        return (crowded || nearLimit) && galleryImageRepository.rebalance() > 0;
+    }
+
+    private OptionalInt orderAfter(Long id, Long afterId) {
+        if (afterId == null) {
+            return DisplayOrder.between(null, galleryImageRepository.findFirstDisplayOrder(id));
+        }
+        int previous = galleryImageRepository.findDisplayOrderById(afterId)
+                .orElseThrow(() -> new IllegalArgumentException("Image not found"));
+        return DisplayOrder.between(previous, galleryImageRepository.findNextDisplayOrder(previous, id));
+    }
+
+    private int nextDisplayOrder() {
+        OptionalInt next = DisplayOrder.between(galleryImageRepository.findMaxDisplayOrder(), null);
+        if (next.isPresent()) {
+            return next.getAsInt();
+        }
+        galleryImageRepository.rebalance();
+        return DisplayOrder.between(galleryImageRepository.findMaxDisplayOrder(), null).orElseThrow();
+    }
+
     /**
      * Delete image
      */
+    @CacheEvict(cacheNames = CacheConfig.GALLERY, allEntries = true)
     public void deleteImage(Long id) {
-        if (!galleryImageRepository.existsById(id)) {
-            throw new IllegalArgumentException("Image not found");
+        GalleryImage image = galleryImageRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Image not found"));
+        galleryImageRepository.delete(image);
+
+        // Only remove files once the row is gone for good
+        Set<String> urls = new LinkedHashSet<>();
+        urls.add(image.getImageUrl());
+        if (image.getThumbnailUrl() != null) {
+            urls.add(image.getThumbnailUrl());
+        }
+        if (image.getVariants() != null) {
+            urls.addAll(image.getVariants().values());
         }
-        // TODO: Also delete the actual image file from storage
-        galleryImageRepository.deleteById(id);
+        // Keep files another row still shows; the query excludes this row since its delete isn't flushed yet
+        urls.removeAll(galleryImageRepository.findUrlsInUse(urls, id));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                urls.forEach(GalleryImageService.this::deleteStoredFile);
+            }
+        });
+    }
+
+    private void deleteStoredFile(String url) {
+        // Images added by URL from elsewhere aren't ours to delete
+        blobStore.keyOf(url).ifPresent(key -> {
+            try {
+                blobStore.delete(key);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to delete stored file {}", key, e);
+            }
+        });
     }
 
     /**
-     * Reorder images - batch update display orders
+     * Reorder images - the whole ordering is applied in one statement
      */
+    @CacheEvict(cacheNames = CacheConfig.GALLERY, allEntries = true)
     public void reorderImages(List<Long> imageIds) {
-        for (int i = 0; i < imageIds.size(); i++) {
-            Long imageId = imageIds.get(i);
-            final int displayOrder = i + 1;
-            galleryImageRepository.findById(imageId).ifPresent(image -> {
-                image.setDisplayOrder(displayOrder);
-                galleryImageRepository.save(image);
-            });
+        if (imageIds.contains(null) || new HashSet<>(imageIds).size() != imageIds.size()) {
+            throw new IllegalArgumentException("Ids must be distinct and non-null");
+        }
+        // Every id must match a row; otherwise the exception rolls the update back
+        if (galleryImageRepository.applyOrder(imageIds) != imageIds.size()) {
+            throw new IllegalArgumentException("Image not found");
         }
     }
-}
\ No newline at end of file
+}
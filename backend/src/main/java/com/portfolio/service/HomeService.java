@@ -0,0 +1,75 @@
+package com.portfolio.service;
+
+import com.portfolio.config.AsyncConfig;
+import com.portfolio.dto.BlogPostSummary;
+import com.portfolio.dto.HomePage;
+import com.portfolio.model.GalleryImage;
+import com.portfolio.model.Project;
+import com.portfolio.model.Tag;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the home page. The four reads are independent, so they run concurrently on the
+ * home executor and the request waits for the slowest one instead of their sum.
+ */
+@Service
+public class HomeService {
+
+    private final ProjectService projectService;
+    private final BlogPostService blogPostService;
+    private final TagService tagService;
+    private final GalleryImageService galleryImageService;
+    private final Executor executor;
+
+    @Value("${app.home.recent-posts:3}")
+    private int recentPosts;
+
+    @Value("${app.home.gallery-images:6}")
+    private int galleryImages;
+
+    public HomeService(ProjectService projectService,
+                       BlogPostService blogPostService,
+                       TagService tagService,
+                       GalleryImageService galleryImageService,
+                       @Qualifier(AsyncConfig.HOME_EXECUTOR) Executor executor) {
+        this.projectService = projectService;
+        this.blogPostService = blogPostService;
+        this.tagService = tagService;
+        this.galleryImageService = galleryImageService;
+        this.executor = executor;
+    }
+
+    /**
+     * Featured projects, latest posts, tags and the first gallery images
+     */
+    public HomePage getHomePage() {
+        CompletableFuture<List<Project>> projects = supply(projectService::getFeaturedProjects);
+        CompletableFuture<List<BlogPostSummary>> posts = supply(() ->
+                blogPostService.getAllPublishedPosts().stream().limit(recentPosts).toList());
+        CompletableFuture<List<Tag>> tags = supply(tagService::getAllTags);
+        CompletableFuture<List<GalleryImage>> gallery = supply(() ->
+                galleryImageService.getAllImages().stream().limit(galleryImages).toList());
+
+        try {
+            CompletableFuture.allOf(projects, posts, tags, gallery).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return new HomePage(projects.join(), posts.join(), tags.join(), gallery.join());
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> read) {
+        return CompletableFuture.supplyAsync(read, executor);
+    }
+}
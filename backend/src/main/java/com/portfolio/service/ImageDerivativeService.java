@@ -0,0 +1,339 @@
+package com.portfolio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.config.AsyncConfig;
+import com.portfolio.config.ResponseCacheFilter;
+import com.portfolio.dto.ImageDerivatives;
+import com.portfolio.storage.BlobStore;
+import com.portfolio.storage.StoredBlob;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Produces width-bounded variants and a blur placeholder for uploaded images.
+ * Work runs on the bounded image executor; finished results are applied to gallery rows that already
+ * point at the upload and kept for a while so rows created afterwards can pick them up.
+ */
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    private static final int PLACEHOLDER_WIDTH = 16;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final BlobStore blobStore;
+    private final ObjectProvider<GalleryImageService> galleryImageService;
+    private final ResponseCacheFilter responseCache;
+    private final List<Integer> widths;
+    private final long maxPixels;
+    private final Cache<String, ImageDerivatives> completed;
+    private final Timer processTimer;
+
+    public ImageDerivativeService(BlobStore blobStore,
+                                  ObjectProvider<GalleryImageService> galleryImageService,
+                                  ResponseCacheFilter responseCache,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.images.widths:320,640,1280}") List<Integer> widths,
+                                  @Value("${app.images.max-pixels:40000000}") long maxPixels) {
+        this.blobStore = blobStore;
+        this.galleryImageService = galleryImageService;
+        this.responseCache = responseCache;
+        this.widths = widths.stream().sorted().toList();
+        this.maxPixels = maxPixels;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+        this.processTimer = Timer.builder("image.derivatives")
+                .description("Time spent decoding, resizing and storing image variants")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Generate derivatives for a stored upload in the background
+     */
+    @Async(AsyncConfig.IMAGE_EXECUTOR)
+    public void generate(String key) {
+        String sourceUrl = blobStore.url(key);
+        ImageDerivatives derivatives;
+        try {
+            derivatives = processTimer.recordCallable(() -> process(key));
+        } catch (Exception e) {
+            log.warn("Failed to generate derivatives for {}", key, e);
+            return;
+        }
+        if (derivatives != null) {
+            publish(sourceUrl, derivatives);
+        }
+    }
+
+    /**
+     * Record finished derivatives and apply them to the rows already pointing at the upload
+     */
+    void publish(String sourceUrl, ImageDerivatives derivatives) {
+        // Publish before applying so a row inserted concurrently either sees the result or gets updated
+        completed.put(sourceUrl, derivatives);
+        apply(sourceUrl, derivatives);
+    }
+
+    /**
+     * Derivatives already generated for an upload URL, if any
+     */
+    public Optional<ImageDerivatives> find(String imageUrl) {
+        return imageUrl == null ? Optional.empty() : Optional.ofNullable(completed.getIfPresent(imageUrl));
+    }
+
+    /**
+     * Apply finished derivatives to rows pointing at the URL, if they are ready
+     */
+    public void applyIfReady(String imageUrl) {
+        find(imageUrl).ifPresent(derivatives -> apply(imageUrl, derivatives));
+    }
+
+    private void apply(String imageUrl, ImageDerivatives derivatives) {
+        if (galleryImageService.getObject().applyDerivatives(imageUrl, derivatives) > 0) {
+            responseCache.invalidate("gallery");
+        }
+    }
+
+    private ImageDerivatives process(String key) throws IOException {
+        BufferedImage source = decode(key);
+        if (source == null) {
+            return null;
+        }
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpeg";
+        String extension = alpha ? ".png" : ".jpg";
+        String contentType = alpha ? "image/png" : "image/jpeg";
+        int dot = key.lastIndexOf('.');
+        String base = dot > 0 ? key.substring(0, dot) : key;
+
+        Map<String, String> variants = new LinkedHashMap<>();
+        BufferedImage previous = source;
+        for (int width : widths) {
+            if (width >= source.getWidth()) {
+                break;
+            }
+            // Each variant is scaled from the original rather than the previous one to avoid compounding blur
+            BufferedImage scaled = scale(source, width);
+            byte[] encoded = encode(scaled, format, JPEG_QUALITY);
+            String url = blobStore.put(base + "-w" + width + extension,
+                    new ByteArrayInputStream(encoded), encoded.length, contentType);
+            variants.put(String.valueOf(width), url);
+            previous = scaled;
+        }
+
+        BufferedImage tiny = scale(previous, PLACEHOLDER_WIDTH);
+        String placeholder = "data:image/jpeg;base64,"
+                + Base64.getEncoder().encodeToString(encode(flatten(tiny), "jpeg", 0.5f));
+        return new ImageDerivatives(variants, placeholder);
+    }
+
+    BufferedImage decode(String key) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Optional<StoredBlob> opened = blobStore.open(key);
+        if (opened.isEmpty()) {
+            return null;
+        }
+        try (StoredBlob blob = opened.get()) {
+            blob.transferTo(Channels.newChannel(bytes));
+        }
+
+        byte[] data = bytes.toByteArray();
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Check dimensions from the header before allocating the raster
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    log.info("Skipping derivatives for {}: {}x{} exceeds the pixel limit",
+                            key, reader.getWidth(0), reader.getHeight(0));
+                    return null;
+                }
+                BufferedImage image = reader.read(0);
+                return orient(image, jpegOrientation(data));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * EXIF orientation (1-8) of a JPEG file, or 1 when it has none. Cameras store portrait photos
+     * sideways and only set this tag, so it has to be applied before any resizing.
+     * Reads the APP1 segment straight from the bytes; ImageIO's JPEG metadata rejects some common layouts.
+     */
+    static int jpegOrientation(byte[] file) {
+        if (file.length < 4 || (file[0] & 0xFF) != 0xFF || (file[1] & 0xFF) != 0xD8) {
+            return 1;
+        }
+        int offset = 2;
+        // Walk the segments up to start-of-scan, where the compressed image data begins
+        while (offset + 4 <= file.length && (file[offset] & 0xFF) == 0xFF) {
+            int marker = file[offset + 1] & 0xFF;
+            int length = ((file[offset + 2] & 0xFF) << 8) | (file[offset + 3] & 0xFF);
+            if (marker == 0xDA || length < 2 || offset + 2 + length > file.length) {
+                break;
+            }
+            if (marker == 0xE1) {
+                int orientation = exifOrientation(Arrays.copyOfRange(file, offset + 4, offset + 2 + length));
+                if (orientation > 0) {
+                    return orientation;
+                }
+            }
+            offset += 2 + length;
+        }
+        return 1;
+    }
+
+    /**
+     * Orientation tag from an APP1 payload ("Exif\0\0" followed by a TIFF structure), or 0 if absent
+     */
+    static int exifOrientation(byte[] app1) {
+        if (app1.length < 14 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(app1, 6, app1.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        try {
+            int ifd = tiff.getInt(4);
+            int entries = tiff.getShort(ifd) & 0xFFFF;
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                    int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+                    return orientation >= 1 && orientation <= 8 ? orientation : 0;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // Truncated or malformed EXIF; treat as unrotated
+        }
+        return 0;
+    }
+
+    /**
+     * Redraw the image upright for the given EXIF orientation
+     */
+    private static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // mirrored
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // upside down
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // mirrored upside down
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transposed
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // needs 90° clockwise
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transversed
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);  // needs 90° counter-clockwise
+        };
+        boolean swap = orientation >= 5;
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage upright = new BufferedImage(swap ? h : w, swap ? w : h, type);
+        Graphics2D g = upright.createGraphics();
+        try {
+            g.drawImage(image, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return upright;
+    }
+
+    /**
+     * Downscale to the target width, halving first so bilinear filtering doesn't skip pixels
+     */
+    private static BufferedImage scale(BufferedImage image, int targetWidth) {
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int targetHeight = Math.max(1, (int) Math.round((double) height * targetWidth / width));
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private static BufferedImage flatten(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.drawImage(image, 0, 0, java.awt.Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private static byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,27 +1,37 @@
 package com.portfolio.service;
 
+import com.portfolio.config.CacheConfig;
 import com.portfolio.model.Project;
+import com.portfolio.repository.DisplayOrder;
 import com.portfolio.repository.ProjectRepository;
+import com.portfolio.repository.SlugAllocator;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 @Service
 @Transactional
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final SlugAllocator slugAllocator;
 
-    public ProjectService(ProjectRepository projectRepository) {
+    public ProjectService(ProjectRepository projectRepository, SlugAllocator slugAllocator) {
         this.projectRepository = projectRepository;
+        this.slugAllocator = slugAllocator;
     }
 
     /**
      * Get all projects ordered by display order
      */
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.PROJECTS)
     public List<Project> getAllProjects() {
         return projectRepository.findAllByOrderByDisplayOrderAsc();
     }
@@ -30,6 +40,7 @@ public class ProjectService {
      * Get only featured projects
      */
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.FEATURED_PROJECTS)
     public List<Project> getFeaturedProjects() {
         return projectRepository.findByFeaturedTrueOrderByDisplayOrderAsc();
     }
@@ -53,22 +64,14 @@ public class ProjectService {
     /**
      * Create new project
      */
+    @CacheEvict(cacheNames = {CacheConfig.PROJECTS, CacheConfig.FEATURED_PROJECTS}, allEntries = true)
     public Project createProject(Project project) {
-        // Generate slug from title
-        project.setSlug(generateSlug(project.getTitle()));
-
-        // Ensure slug is unique
-        String originalSlug = project.getSlug();
-        int counter = 1;
-        while (projectRepository.existsBySlug(project.getSlug())) {
-            project.setSlug(originalSlug + "-" + counter);
-            counter++;
-        }
+        // Generate a unique slug from title
+        project.setSlug(slugAllocator.allocate(SlugAllocator.Target.PROJECTS, project.getTitle()));
 
         // Set default display order if not specified
         if (project.getDisplayOrder() == null || project.getDisplayOrder() == 0) {
-            long count = projectRepository.count();
-            project.setDisplayOrder((int) count + 1);
+            project.setDisplayOrder(nextDisplayOrder());
         }
 
         return projectRepository.save(project);
@@ -77,6 +80,7 @@ public class ProjectService {
     /**
      * Update existing project
      */
+    @CacheEvict(cacheNames = {CacheConfig.PROJECTS, CacheConfig.FEATURED_PROJECTS}, allEntries = true)
     public Project updateProject(Long id, Project updatedProject) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found"));
@@ -85,10 +89,7 @@ public class ProjectService {
         if (updatedProject.getTitle() != null && !updatedProject.getTitle().equals(project.getTitle())) {
             project.setTitle(updatedProject.getTitle());
             // Regenerate slug if title changed
-            String newSlug = generateSlug(updatedProject.getTitle());
-            if (!newSlug.equals(project.getSlug()) && !projectRepository.existsBySlug(newSlug)) {
-                project.setSlug(newSlug);
-            }
+            project.setSlug(slugAllocator.allocate(SlugAllocator.Target.PROJECTS, updatedProject.getTitle(), project.getId()));
         }
 
         if (updatedProject.getDescription() != null) {
@@ -129,6 +130,7 @@ public class ProjectService {
     /**
      * Delete project
      */
+    @CacheEvict(cacheNames = {CacheConfig.PROJECTS, CacheConfig.FEATURED_PROJECTS}, allEntries = true)
     public void deleteProject(Long id) {
         if (!projectRepository.existsById(id)) {
             throw new IllegalArgumentException("Project not found");
@@ -139,6 +141,7 @@ public class ProjectService {
     /**
      * Toggle featured status
      */
+    @CacheEvict(cacheNames = {CacheConfig.PROJECTS, CacheConfig.FEATURED_PROJECTS}, allEntries = true)
     public Project toggleFeatured(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found"));
@@ -149,6 +152,7 @@ public class ProjectService {
     /**
      * Reorder projects
      */
+    @CacheEvict(cacheNames = {CacheConfig.PROJECTS, CacheConfig.FEATURED_PROJECTS}, allEntries = true)
     public void updateDisplayOrder(Long id, int newOrder) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found"));
@@ -157,13 +161,67 @@ public class ProjectService {
     }
 
     /**
-     * Generate URL-friendly slug from title
+     * Reorder all given projects in one statement
+     */
+    @CacheEvict(cacheNames = {CacheConfig.PROJECTS, CacheConfig.FEATURED_PROJECTS}, allEntries = true)
+    public void reorderProjects(List<Long> projectIds) {
+        if (projectIds.contains(null) || new HashSet<>(projectIds).size() != projectIds.size()) {
+            throw new IllegalArgumentException("Ids must be distinct and non-null");
+        }
+        // Every id must match a row; otherwise the exception rolls the update back
+        if (projectRepository.applyOrder(projectIds) != projectIds.size()) {
+            throw new IllegalArgumentException("Project not found");
+        }
+    }
+
+    /**
+     * Move a project directly after another one (or to the front when afterId is null).
+     * Only the moved row is rewritten unless its new neighbours are adjacent, which triggers a renumber.
+     */
+    @CacheEvict(cacheNames = {CacheConfig.PROJECTS, CacheConfig.FEATURED_PROJECTS}, allEntries = true)
+    public Project moveProject(Long id, Long afterId) {
+        if (id.equals(afterId)) {
+            throw new IllegalArgumentException("Cannot move a project after itself");
+        }
+        Project project = projectRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+
+        OptionalInt order = orderAfter(id, afterId);
+        if (order.isEmpty()) {
+            projectRepository.rebalance();
+            order = orderAfter(id, afterId);
+        }
+        project.setDisplayOrder(order.orElseThrow());
+        return projectRepository.save(project);
+    }
+
+    /**
+     * Renumber display orders when neighbouring items have drifted too close; returns whether anything changed
      */
-    private String generateSlug(String text) {
-        return text.toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-+", "-")
-                .replaceAll("^-|-$", "");
+    @CacheEvict(cacheNames = {CacheConfig.PROJECTS, CacheConfig.FEATURED_PROJECTS}, allEntries = true)
+    public boolean rebalanceDisplayOrderIfCrowded(int minGap) {
+        Integer gap = projectRepository.findMinOrderGap();
+        Integer last = projectRepository.findMaxDisplayOrder();
+        boolean crowded = gap != null && gap < minGap;
+        boolean nearLimit = last != null && last > Integer.MAX_VALUE - minGap * DisplayOrder.GAP;
+        return (crowded || nearLimit) && projectRepository.rebalance() > 0;
+    }
+
+    private OptionalInt orderAfter(Long id, Long afterId) {
+        if (afterId == null) {
+            return DisplayOrder.between(null, projectRepository.findFirstDisplayOrder(id));
+        }
+        int previous = projectRepository.findDisplayOrderById(afterId)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        return DisplayOrder.between(previous, projectRepository.findNextDisplayOrder(previous, id));
+    }
+
+    private int nextDisplayOrder() {
+        OptionalInt next = DisplayOrder.between(projectRepository.findMaxDisplayOrder(), null);
+        if (next.isPresent()) {
+            return next.getAsInt();
+        }
+        projectRepository.rebalance();
+        return DisplayOrder.between(projectRepository.findMaxDisplayOrder(), null).orElseThrow();
     }
 }
\ No newline at end of file
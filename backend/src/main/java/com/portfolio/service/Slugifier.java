@@ -0,0 +1,123 @@
+package com.portfolio.service;
+
+import java.text.Normalizer;
+
+/**
+ * Turns titles and tag names into URL slugs in one pass over the input.
+ * <p>
+ * ASCII letters and digits are kept (lowercased), runs of whitespace and hyphens become a single
+ * hyphen, and other ASCII punctuation is dropped. For anything else the text is first decomposed
+ * (NFKD) so accents on Latin letters fall away as separate marks, a few Latin letters that don't
+ * decompose are spelled out (ß → ss, ø → o, ...), and letters and digits of other scripts are kept
+ * as they are, marks included (й, ブ), so a title in Cyrillic or Japanese still gets a readable slug
+ * instead of an empty one.
+ */
+public final class Slugifier {
+
+    private Slugifier() {
+    }
+
+    /**
+     * Slug for the text, at most maxLength characters, never starting or ending with a hyphen
+     */
+    public static String slugify(String text, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        // Titles are nearly always plain ASCII, which skips normalization and its copy entirely
+        String source = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFKD);
+
+        StringBuilder slug = new StringBuilder(Math.min(source.length(), maxLength));
+        boolean pendingHyphen = false;
+        // Marks after a non-Latin letter belong to it: stripping them turns ブ into フ and й into и
+        boolean keepMarks = false;
+        boolean keptMarks = false;
+        for (int i = 0; i < source.length(); ) {
+            int c = source.codePointAt(i);
+            i += Character.charCount(c);
+
+            String letters;
+            if (c < 0x80) {
+                if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                    letters = null;
+                } else if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                    letters = null;
+                } else {
+                    // Same separators as the regex \s plus the hyphen; other punctuation just disappears
+                    pendingHyphen |= c == '-' || c == ' ' || (c >= '\t' && c <= '\r');
+                    keepMarks = false;
+                    continue;
+                }
+            } else if (isMark(c)) {
+                if (!keepMarks) {
+                    continue;
+                }
+                letters = null;
+                keptMarks = true;
+            } else if ((letters = transliterate(c)) == null) {
+                if (Character.isLetterOrDigit(c)) {
+                    c = Character.toLowerCase(c);
+                } else {
+                    pendingHyphen |= Character.isSpaceChar(c) || Character.getType(c) == Character.DASH_PUNCTUATION;
+                    keepMarks = false;
+                    continue;
+                }
+            }
+
+            int needed = (letters == null ? Character.charCount(c) : letters.length())
+                    + (pendingHyphen && !slug.isEmpty() ? 1 : 0);
+            if (slug.length() + needed > maxLength) {
+                break;
+            }
+            if (pendingHyphen && !slug.isEmpty()) {
+                slug.append('-');
+            }
+            pendingHyphen = false;
+            if (letters == null) {
+                slug.appendCodePoint(c);
+            } else {
+                slug.append(letters);
+            }
+            if (!isMark(c)) {
+                keepMarks = letters == null && c >= 0x80 && Character.UnicodeScript.of(c) != Character.UnicodeScript.LATIN;
+            }
+        }
+        // Put kept marks back together with their letters
+        return keptMarks ? Normalizer.normalize(slug, Normalizer.Form.NFC) : slug.toString();
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMark(int c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    /**
+     * ASCII spelling of Latin letters that NFKD leaves whole, or null
+     */
+    private static String transliterate(int c) {
+        return switch (c) {
+            case 'ß', 'ẞ' -> "ss";
+            case 'æ', 'Æ' -> "ae";
+            case 'œ', 'Œ' -> "oe";
+            case 'ø', 'Ø' -> "o";
+            case 'đ', 'Đ', 'ð', 'Ð' -> "d";
+            case 'ł', 'Ł' -> "l";
+            case 'þ', 'Þ' -> "th";
+            case 'ħ', 'Ħ' -> "h";
+            case 'ı' -> "i";
+            case 'ŋ', 'Ŋ' -> "ng";
+            default -> null;
+        };
+    }
+}
@@ -1,27 +1,48 @@
 package com.portfolio.service;
 
+import com.portfolio.config.CacheConfig;
+import com.portfolio.model.BlogPost;
 import com.portfolio.model.Tag;
+import com.portfolio.repository.BlogPostRepository;
+import com.portfolio.repository.SlugAllocator;
 import com.portfolio.repository.TagRepository;
+import com.portfolio.search.SearchIndex;
+import jakarta.validation.ValidationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TagService {
 
     private final TagRepository tagRepository;
+    private final SlugAllocator slugAllocator;
+    private final BlogPostRepository blogPostRepository;
+    private final ObjectProvider<SearchIndex> searchIndex;
 
-    public TagService(TagRepository tagRepository) {
+    public TagService(TagRepository tagRepository, SlugAllocator slugAllocator,
+                      BlogPostRepository blogPostRepository, ObjectProvider<SearchIndex> searchIndex) {
         this.tagRepository = tagRepository;
+        this.slugAllocator = slugAllocator;
+        this.blogPostRepository = blogPostRepository;
+        this.searchIndex = searchIndex;
     }
 
     /**
      * Get all tags
      */
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.TAGS)
     public List<Tag> getAllTags() {
         return tagRepository.findAll();
     }
@@ -53,6 +74,7 @@ public class TagService {
     /**
      * Create new tag
      */
+    @CacheEvict(cacheNames = CacheConfig.TAGS, allEntries = true)
     public Tag createTag(String name) {
         if (tagRepository.existsByName(name)) {
             throw new IllegalArgumentException("Tag already exists");
@@ -60,22 +82,47 @@ public class TagService {
 
         Tag tag = new Tag();
         tag.setName(name);
-        tag.setSlug(generateSlug(name));
-
-        // Ensure slug is unique
-        String originalSlug = tag.getSlug();
-        int counter = 1;
-        while (tagRepository.existsBySlug(tag.getSlug())) {
-            tag.setSlug(originalSlug + "-" + counter);
-            counter++;
-        }
+        tag.setSlug(slugAllocator.allocate(SlugAllocator.Target.TAGS, name));
 
         return tagRepository.save(tag);
     }
 
+    /**
+     * Tags with the given names, creating the missing ones. One lookup when they all exist, otherwise
+     * a batched insert and a second lookup, however many names there are. Callers evict the tag cache.
+     */
+    public List<Tag> resolveTags(Collection<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        for (String name : names) {
+            // What the entity's constraints would enforce; the insert below goes around them
+            if (name.isBlank() || name.length() > SlugAllocator.Target.TAGS.maxLength()) {
+                throw new ValidationException("Tag names must be 1 to 50 characters");
+            }
+        }
+
+        List<Tag> tags = new ArrayList<>(tagRepository.findByNameIn(names));
+        if (tags.size() == names.size()) {
+            return tags;
+        }
+        Set<String> found = tags.stream().map(Tag::getName).collect(Collectors.toSet());
+        List<String> missing = names.stream().filter(name -> !found.contains(name)).toList();
+
+        // Names a concurrent save creates first are skipped here and picked up by the lookup after
+        tagRepository.insertIgnoringConflicts(missing, slugAllocator.allocateAll(SlugAllocator.Target.TAGS, missing));
+        tags.addAll(tagRepository.findByNameIn(missing));
+        if (tags.size() != names.size()) {
+            throw new IllegalStateException("Could not create tags " + missing);
+        }
+        return tags;
+    }
+
     /**
      * Update tag
      */
+    // Post summaries embed tag names
+    @CacheEvict(cacheNames = {CacheConfig.TAGS, CacheConfig.PUBLISHED_POSTS}, allEntries = true)
     public Tag updateTag(Long id, String newName) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Tag not found"));
@@ -85,7 +132,9 @@ public class TagService {
                 throw new IllegalArgumentException("Tag name already exists");
             }
             tag.setName(newName);
-            tag.setSlug(generateSlug(newName));
+            tag.setSlug(slugAllocator.allocate(SlugAllocator.Target.TAGS, newName, id));
+            // Indexed documents carry tag names; the posts share this Tag instance, so they see the new name
+            reindexPostsTagged(id);
         }
 
         return tagRepository.save(tag);
@@ -94,21 +143,21 @@ public class TagService {
     /**
      * Delete tag
      */
+    // Post summaries embed tag names
+    @CacheEvict(cacheNames = {CacheConfig.TAGS, CacheConfig.PUBLISHED_POSTS}, allEntries = true)
     public void deleteTag(Long id) {
-        if (!tagRepository.existsById(id)) {
-            throw new IllegalArgumentException("Tag not found");
-        }
-        tagRepository.deleteById(id);
+        Tag tag = tagRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Tag not found"));
+
+        // Unlink through the owning side so the post_tags rows are deleted before the tag, then index the posts without it
+        List<BlogPost> posts = blogPostRepository.findAllWithTagsByTagId(id);
+        posts.forEach(post -> post.removeTag(tag));
+        searchIndex.ifAvailable(index -> posts.forEach(index::index));
+
+        tagRepository.delete(tag);
     }
 
-    /**
-     * Generate URL-friendly slug from name
-     */
-    private String generateSlug(String text) {
-        return text.toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-+", "-")
-                .replaceAll("^-|-$", "");
+    private void reindexPostsTagged(Long tagId) {
+        searchIndex.ifAvailable(index -> blogPostRepository.findAllWithTagsByTagId(tagId).forEach(index::index));
     }
 }
\ No newline at end of file
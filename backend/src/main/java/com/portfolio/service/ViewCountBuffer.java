@@ -0,0 +1,112 @@
+package com.portfolio.service;
+
+import com.portfolio.repository.BlogPostRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for blog post view counts.
+ * Increments land in a per-post LongAdder on the request thread and are
+ * flushed as one batched UPDATE on a schedule and at shutdown. Posts with no
+ * views since the previous flush are dropped from the buffer.
+ */
+@Component
+public class ViewCountBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewCountBuffer.class);
+
+    private final BlogPostRepository blogPostRepository;
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // Adders dropped by the previous flush, read once more by the next one
+    private final Map<Long, LongAdder> retired = new HashMap<>();
+    private final Timer flushTimer;
+
+    public ViewCountBuffer(BlogPostRepository blogPostRepository, MeterRegistry meterRegistry) {
+        this.blogPostRepository = blogPostRepository;
+        this.flushTimer = Timer.builder("blog.views.flush")
+                .description("Time spent writing buffered view counts to the database")
+                .register(meterRegistry);
+        Gauge.builder("blog.views.pending", this, ViewCountBuffer::pendingViews)
+                .description("View increments not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a single view
+     */
+    public void increment(Long postId) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Total number of views waiting to be flushed
+     */
+    public long pendingViews() {
+        long total = 0;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Number of posts currently holding an adder
+     */
+    int trackedPosts() {
+        return pending.size();
+    }
+
+    /**
+     * Write aggregated deltas to the database
+     */
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        // sumThenReset takes each cell's count as it zeroes it, so increments
+        // racing with the flush stay in the buffer for the next round.
+        Map<Long, Long> deltas = new HashMap<>();
+        // An increment can look an adder up just before it is dropped and add to it afterwards;
+        // a flush interval later that has long happened, so this picks it up.
+        retired.forEach((postId, adder) -> addDelta(deltas, postId, adder.sumThenReset()));
+        retired.clear();
+        pending.forEach((postId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                addDelta(deltas, postId, delta);
+            } else if (pending.remove(postId, adder)) {
+                retired.put(postId, adder);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            flushTimer.record(() -> blogPostRepository.incrementViewCounts(deltas));
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} view count deltas, will retry", deltas.size(), e);
+            deltas.forEach((postId, delta) -> pending.computeIfAbsent(postId, id -> new LongAdder()).add(delta));
+        }
+    }
+
+    private static void addDelta(Map<Long, Long> deltas, Long postId, long delta) {
+        if (delta > 0) {
+            deltas.merge(postId, delta, Long::sum);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,52 @@
+package com.portfolio.storage;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Key generation and validation shared by the stores and the serving controller
+ */
+public final class BlobKeys {
+
+    private static final Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,254}");
+
+    private BlobKeys() {
+    }
+
+    /**
+     * Random key that keeps the extension of the original filename
+     */
+    public static String newKey(String originalFilename) {
+        String extension = originalFilename != null && originalFilename.contains(".")
+                ? originalFilename.substring(originalFilename.lastIndexOf(".")).toLowerCase()
+                : "";
+        if (!VALID_KEY.matcher("x" + extension).matches()) {
+            extension = "";
+        }
+        return UUID.randomUUID() + extension;
+    }
+
+    /**
+     * Keys never contain path separators or "..", so they can't escape a store's root
+     */
+    public static boolean isValid(String key) {
+        return key != null && VALID_KEY.matcher(key).matches() && !key.contains("..");
+    }
+
+    public static String requireValid(String key) {
+        if (!isValid(key)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return key;
+    }
+
+    /**
+     * Content type guessed from the key's extension
+     */
+    public static String contentType(String key) {
+        return MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+}
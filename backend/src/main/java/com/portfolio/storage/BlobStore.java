@@ -0,0 +1,51 @@
+package com.portfolio.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Storage for uploaded files. Keys are flat names such as "3f2a...-.jpg"; each store decides
+ * where the bytes live and which public URL points at them.
+ */
+public interface BlobStore {
+
+    /**
+     * Store the stream under the key and return its public URL
+     */
+    String put(String key, InputStream content, long size, String contentType) throws IOException;
+
+    /**
+     * Open a stored blob for reading, or empty if it doesn't exist
+     */
+    Optional<StoredBlob> open(String key) throws IOException;
+
+    /**
+     * File on local disk holding the blob, for stores that keep one; lets serving use range requests and sendfile
+     */
+    default Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Delete a stored blob; returns false if nothing was stored under the key
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * Public URL for a key
+     */
+    String url(String key);
+
+    /**
+     * Key of a URL previously returned by this store, or empty if the URL points elsewhere
+     */
+    default Optional<String> keyOf(String url) {
+        String prefix = url("");
+        if (url == null || !url.startsWith(prefix) || url.length() == prefix.length()) {
+            return Optional.empty();
+        }
+        return Optional.of(url.substring(prefix.length())).filter(BlobKeys::isValid);
+    }
+}
@@ -0,0 +1,106 @@
+package com.portfolio.storage;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+/**
+ * Stores blobs as objects under "uploads/" in the configured bucket. Uploads go through a
+ * resumable WriteChannel so only one chunk of a file is held in memory at a time.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "gcs")
+public class GcsBlobStore implements BlobStore {
+
+    private static final String PREFIX = "uploads/";
+
+    private final Storage storage;
+    private final String bucketName;
+    private final int chunkSize;
+
+    public GcsBlobStore(Storage storage,
+                        @Value("${app.gcs.bucket}") String bucketName,
+                        @Value("${app.upload.chunk-size:262144}") int chunkSize) {
+        this.storage = storage;
+        this.bucketName = bucketName;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public String put(String key, InputStream content, long size, String contentType) throws IOException {
+        BlobInfo blobInfo = BlobInfo.newBuilder(blobId(key))
+                .setContentType(contentType)
+                .build();
+
+        try (WriteChannel writer = storage.writer(blobInfo)) {
+            writer.setChunkSize(chunkSize);
+            byte[] buffer = new byte[chunkSize];
+            int read;
+            while ((read = content.readNBytes(buffer, 0, buffer.length)) > 0) {
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    writer.write(chunk);
+                }
+            }
+        }
+        return url(key);
+    }
+
+    @Override
+    public Optional<StoredBlob> open(String key) {
+        Blob blob = storage.get(blobId(key));
+        if (blob == null) {
+            return Optional.empty();
+        }
+        String contentType = blob.getContentType() != null ? blob.getContentType() : BlobKeys.contentType(key);
+        return Optional.of(new GcsBlob(blob.reader(), blob.getSize(), contentType, chunkSize));
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return storage.delete(blobId(key));
+    }
+
+    @Override
+    public String url(String key) {
+        return "https://storage.googleapis.com/" + bucketName + "/" + PREFIX + key;
+    }
+
+    private BlobId blobId(String key) {
+        return BlobId.of(bucketName, PREFIX + BlobKeys.requireValid(key));
+    }
+
+    private record GcsBlob(ReadChannel reader, long size, String contentType, int chunkSize) implements StoredBlob {
+
+        @Override
+        public long transferTo(WritableByteChannel target) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            long total = 0;
+            while (reader.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    total += target.write(buffer);
+                }
+                buffer.clear();
+            }
+            return total;
+        }
+
+        @Override
+        public void close() {
+            reader.close();
+        }
+    }
+}
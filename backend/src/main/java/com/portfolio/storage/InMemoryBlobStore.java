@@ -0,0 +1,81 @@
+package com.portfolio.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps blobs on the heap. Meant for local benchmarking and throwaway environments; nothing survives a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "memory")
+public class InMemoryBlobStore implements BlobStore {
+
+    private final Map<String, Entry> blobs = new ConcurrentHashMap<>();
+    private final String baseUrl;
+
+    public InMemoryBlobStore(@Value("${app.base-url}") String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public String put(String key, InputStream content, long size, String contentType) throws IOException {
+        BlobKeys.requireValid(key);
+        byte[] bytes = content.readAllBytes();
+        blobs.put(key, new Entry(bytes, contentType != null ? contentType : BlobKeys.contentType(key)));
+        return url(key);
+    }
+
+    @Override
+    public Optional<StoredBlob> open(String key) {
+        Entry entry = blobs.get(BlobKeys.requireValid(key));
+        return Optional.ofNullable(entry).map(MemoryBlob::new);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return blobs.remove(BlobKeys.requireValid(key)) != null;
+    }
+
+    @Override
+    public String url(String key) {
+        return baseUrl + "/uploads/" + key;
+    }
+
+    private record Entry(byte[] bytes, String contentType) {
+    }
+
+    private record MemoryBlob(Entry entry) implements StoredBlob {
+
+        @Override
+        public long size() {
+            return entry.bytes().length;
+        }
+
+        @Override
+        public String contentType() {
+            return entry.contentType();
+        }
+
+        @Override
+        public long transferTo(WritableByteChannel target) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(entry.bytes());
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            return entry.bytes().length;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
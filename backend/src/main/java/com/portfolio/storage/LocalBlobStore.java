@@ -0,0 +1,126 @@
+package com.portfolio.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stores blobs as files under app.upload.dir. Serving goes through localFile, so the container can send
+ * the file itself (sendfile) and answer range requests; open() is for reading the bytes in process.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalBlobStore(@Value("${app.upload.dir:./uploads}") String uploadDir,
+                          @Value("${app.base-url}") String baseUrl) throws IOException {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl;
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public String put(String key, InputStream content, long size, String contentType) throws IOException {
+        Path target = resolve(key);
+        // Write to a temp file first so readers never see a partial upload
+        Path temp = root.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+        try {
+            try (ReadableByteChannel source = Channels.newChannel(content);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = channel.transferFrom(source, position, Long.MAX_VALUE)) > 0) {
+                    position += transferred;
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return url(key);
+    }
+
+    @Override
+    public Optional<StoredBlob> open(String key) throws IOException {
+        Path path = resolve(key);
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        return Optional.of(new FileBlob(channel, BlobKeys.contentType(key)));
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public String url(String key) {
+        return baseUrl + "/uploads/" + key;
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(BlobKeys.requireValid(key)).normalize();
+        if (!path.getParent().equals(root)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return path;
+    }
+
+    private record FileBlob(FileChannel channel, String contentType) implements StoredBlob {
+
+        @Override
+        public long size() {
+            try {
+                return channel.size();
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public long transferTo(WritableByteChannel target) throws IOException {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = channel.transferTo(position, size - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            return position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
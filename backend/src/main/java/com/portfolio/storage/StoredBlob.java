@@ -0,0 +1,20 @@
+package com.portfolio.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * An open handle on a stored blob. Callers must close it once the content has been copied out.
+ */
+public interface StoredBlob extends Closeable {
+
+    long size();
+
+    String contentType();
+
+    /**
+     * Copy the whole blob into the target channel, returning the number of bytes written
+     */
+    long transferTo(WritableByteChannel target) throws IOException;
+}
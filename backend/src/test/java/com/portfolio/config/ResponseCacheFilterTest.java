@@ -0,0 +1,56 @@
+package com.portfolio.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+    private final ResponseCacheFilter filter =
+            new ResponseCacheFilter(new SimpleMeterRegistry(), 1 << 20, Duration.ofMinutes(10));
+
+    // Large enough to be stored with a gzip variant
+    private final FilterChain controller = (request, response) -> {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("[\"" + "x".repeat(4096) + "\"]").getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Test
+    void eachEncodingHasItsOwnEtagAndEitherRevalidates() throws Exception {
+        MockHttpServletResponse identity = get(null, null);
+        MockHttpServletResponse gzip = get("gzip", null);
+
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(identity.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        String identityTag = identity.getHeader(HttpHeaders.ETAG);
+        String gzipTag = gzip.getHeader(HttpHeaders.ETAG);
+        assertThat(gzipTag).isNotEqualTo(identityTag).startsWith("\"").endsWith("-gzip\"");
+
+        assertThat(get("gzip", identityTag).getStatus()).isEqualTo(304);
+        assertThat(get(null, gzipTag).getStatus()).isEqualTo(304);
+        assertThat(get("gzip", "W/" + gzipTag).getStatus()).isEqualTo(304);
+        assertThat(get("gzip", "\"other\"").getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse get(String acceptEncoding, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+}
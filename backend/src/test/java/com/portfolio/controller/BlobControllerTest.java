@@ -0,0 +1,41 @@
+package com.portfolio.controller;
+
+import com.portfolio.PostgresIntegrationTest;
+import com.portfolio.storage.BlobStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class BlobControllerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Test
+    void uploadsAnswerHeadWithoutAToken() throws Exception {
+        byte[] bytes = {1, 2, 3, 4};
+        String url = blobStore.put("probe.png", new ByteArrayInputStream(bytes), bytes.length, "image/png");
+        String path = "/uploads/" + url.substring(url.lastIndexOf('/') + 1);
+
+        mockMvc.perform(head(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"));
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes));
+    }
+}
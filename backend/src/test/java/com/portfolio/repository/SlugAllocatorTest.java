@@ -0,0 +1,125 @@
+package com.portfolio.repository;
+
+import com.portfolio.PostgresIntegrationTest;
+import com.portfolio.repository.SlugAllocator.Target;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlugAllocatorTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SlugAllocator slugAllocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void lowestFreeSuffixIsTakenFirst() {
+        // Non-numeric and zero-padded tails don't count as suffixes
+        insertTags("gap", "gap-1", "gap-3", "gap-x", "gap-01");
+
+        assertThat(allocate("Gap")).isEqualTo("gap-2");
+        insertTags("gap-2");
+        assertThat(allocate("GAP")).isEqualTo("gap-4");
+        assertThat(allocate("Gap X")).isEqualTo("gap-x-1");
+    }
+
+    @Test
+    void batchGivesTextsThatSlugifyAlikeSuccessiveSuffixes() {
+        insertTags("dup", "dup-2");
+
+        List<String> slugs = transactionTemplate.execute(status ->
+                slugAllocator.allocateAll(Target.TAGS, List.of("Dup", "DUP", "dup!", "Other dup")));
+        assertThat(slugs).containsExactly("dup-1", "dup-3", "dup-4", "other-dup");
+    }
+
+    @Test
+    void suffixThatDoesNotFitShortensTheBase() {
+        String full = "a".repeat(Target.TAGS.maxLength());
+        String shortened = "a".repeat(Target.TAGS.maxLength() - 2);
+        insertTags(full);
+        // The shortened base is tried bare first
+        assertThat(allocate(full)).isEqualTo(shortened);
+
+        insertTags(shortened);
+        assertThat(allocate(full)).isEqualTo(shortened + "-1");
+    }
+
+    @Test
+    void suffixHandedOutWaitsForATitleWithThatBase() throws Exception {
+        insertTags("race");
+        // "Race" is due "race-1", which is the bare slug of a concurrent "Race 1"
+        String slug = whileHoldingAllocation("Race 1", () -> allocateAndInsert("Race"));
+        assertThat(slug).isEqualTo("race-2");
+    }
+
+    @Test
+    void batchSuffixHandedOutWaitsForATitleWithThatBase() throws Exception {
+        insertTags("batch");
+        String slug = whileHoldingAllocation("Batch 1", () -> transactionTemplate.execute(status -> {
+            String allocated = slugAllocator.allocateAll(Target.TAGS, List.of("Batch")).get(0);
+            insertTags(allocated);
+            return allocated;
+        }));
+        assertThat(slug).isEqualTo("batch-2");
+    }
+
+    /**
+     * Allocates and inserts a slug for held in a transaction that stays open while other runs, then commits it
+     */
+    private String whileHoldingAllocation(String held, Supplier<String> other) throws Exception {
+        CountDownLatch allocated = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            String slug = allocateAndInsertInCurrentTransaction(held);
+            allocated.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return slug;
+        }));
+        allocated.await();
+
+        CompletableFuture<String> contender = CompletableFuture.supplyAsync(other);
+        // Give the contender time to reach the lock (or, without it, to pick the same slug)
+        Thread.sleep(500);
+        release.countDown();
+
+        assertThat(holder.get()).isEqualTo(held.toLowerCase().replace(' ', '-'));
+        return contender.get();
+    }
+
+    private String allocate(String text) {
+        return transactionTemplate.execute(status -> slugAllocator.allocate(Target.TAGS, text));
+    }
+
+    private String allocateAndInsert(String text) {
+        return transactionTemplate.execute(status -> allocateAndInsertInCurrentTransaction(text));
+    }
+
+    private String allocateAndInsertInCurrentTransaction(String text) {
+        String slug = slugAllocator.allocate(Target.TAGS, text);
+        insertTags(slug);
+        return slug;
+    }
+
+    private void insertTags(String... slugs) {
+        for (String slug : slugs) {
+            jdbcTemplate.update("INSERT INTO tags (name, slug, created_at) VALUES (?, ?, now())", slug, slug);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.portfolio.service;
+
+import com.portfolio.PostgresIntegrationTest;
+import com.portfolio.dto.BlogPostSummary;
+import com.portfolio.dto.PostSearchResult;
+import com.portfolio.model.BlogPost;
+import com.portfolio.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "app.search.engine=memory")
+class BlogPostServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private BlogPostService blogPostService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void searchResultsCarryCurrentCounts() {
+        Long postId = createPost("Tuning the garbage collector", "Pauses and heaps.").getId();
+
+        commentService.createComment(postId, "Nice one");
+        blogPostService.incrementViewCount(postId);
+        viewCountBuffer.flush();
+
+        List<PostSearchResult> results = blogPostService.searchPosts("garbage", false, 0, 10);
+        assertThat(results).extracting(PostSearchResult::post).extracting(BlogPostSummary::id).contains(postId);
+        BlogPostSummary summary = results.stream()
+                .map(PostSearchResult::post)
+                .filter(post -> post.id().equals(postId))
+                .findFirst().orElseThrow();
+        assertThat(summary.commentCount()).isEqualTo(1);
+        assertThat(summary.viewCount()).isEqualTo(1);
+    }
+
+    @Test
+    void titleSearchTreatsWildcardsLiterally() {
+        Long percent = createPost("Reaching 100% coverage", "Tests.").getId();
+        Long underscore = createPost("Naming snake_case fields", "Style.").getId();
+        Long plain = createPost("Nothing special here", "Text.").getId();
+
+        assertThat(titleSearch("100%")).contains(percent).doesNotContain(underscore, plain);
+        assertThat(titleSearch("%")).contains(percent).doesNotContain(underscore, plain);
+        assertThat(titleSearch("_")).contains(underscore).doesNotContain(percent, plain);
+        assertThat(titleSearch("\\")).doesNotContain(percent, underscore, plain);
+    }
+
+    private List<Long> titleSearch(String title) {
+        return blogPostService.searchPostsByTitle(title).stream().map(BlogPostSummary::id).toList();
+    }
+
+    private BlogPost createPost(String title, String content) {
+        BlogPost post = new BlogPost();
+        post.setTitle(title);
+        post.setContent(content);
+        post.setPublished(true);
+        return blogPostService.createPost(post, userRepository.findAll().get(0), Set.of());
+    }
+}
@@ -0,0 +1,53 @@
+package com.portfolio.service;
+
+import com.portfolio.dto.PendingComment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CommentIngestorTest {
+
+    private final CommentService commentService = mock(CommentService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CommentIngestor ingestor = new CommentIngestor(
+            commentService, meterRegistry, "async", 100, 500, 10_000, 2, 1);
+
+    @Test
+    void oneBadCommentOnlyLosesItself() {
+        PendingComment good = pending(1L);
+        PendingComment orphan = pending(2L);
+        when(commentService.prepareComment(eq(1L), anyString())).thenReturn(good);
+        when(commentService.prepareComment(eq(2L), anyString())).thenReturn(orphan);
+        // Like the insert failing on a post deleted after the comment was queued
+        when(commentService.writeComments(anyList())).thenAnswer(invocation -> {
+            List<PendingComment> batch = invocation.getArgument(0);
+            if (batch.contains(orphan)) {
+                throw new DataIntegrityViolationException("post_id not present in blog_posts");
+            }
+            return batch.size();
+        });
+
+        ingestor.start();
+        ingestor.submit(1L, "first");
+        ingestor.submit(2L, "orphan");
+        ingestor.submit(1L, "second");
+        ingestor.stop();
+
+        assertThat(meterRegistry.counter("comments.ingest.written").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("comments.ingest.failed").count()).isEqualTo(1);
+    }
+
+    private static PendingComment pending(Long postId) {
+        return new PendingComment(postId, "text", "Anonymous", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,70 @@
+package com.portfolio.service;
+
+import com.portfolio.PostgresIntegrationTest;
+import com.portfolio.dto.ImageDerivatives;
+import com.portfolio.model.GalleryImage;
+import com.portfolio.repository.GalleryImageRepository;
+import com.portfolio.storage.BlobStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GalleryImageServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private GalleryImageService galleryImageService;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private GalleryImageRepository galleryImageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Test
+    void derivativesFinishingBeforeTheRowCommitsAreStillPersisted() {
+        String imageUrl = "http://localhost:8080/uploads/race.jpg";
+        ImageDerivatives derivatives = new ImageDerivatives(
+                Map.of("320", "http://localhost:8080/uploads/race-w320.jpg",
+                       "640", "http://localhost:8080/uploads/race-w640.jpg"),
+                "data:image/jpeg;base64,AAAA");
+
+        Long id = transactionTemplate.execute(status -> {
+            GalleryImage saved = galleryImageService.uploadImage(imageUrl, null, "race");
+            // The resizer finishes on its own thread while this row is still uncommitted, so it can't see it
+            CompletableFuture.runAsync(() -> imageDerivativeService.publish(imageUrl, derivatives)).join();
+            return saved.getId();
+        });
+
+        GalleryImage stored = galleryImageRepository.findById(id).orElseThrow();
+        assertThat(stored.getThumbnailUrl()).isEqualTo("http://localhost:8080/uploads/race-w320.jpg");
+        assertThat(stored.getPlaceholder()).isEqualTo("data:image/jpeg;base64,AAAA");
+        assertThat(stored.getVariants()).containsEntry("640", "http://localhost:8080/uploads/race-w640.jpg");
+    }
+
+    @Test
+    void deletingOneOfTwoImagesSharingAnUploadKeepsTheFile() throws IOException {
+        byte[] bytes = {1, 2, 3};
+        String url = blobStore.put("shared.jpg", new ByteArrayInputStream(bytes), bytes.length, "image/jpeg");
+        GalleryImage first = galleryImageService.uploadImage(url, url, "first");
+        GalleryImage second = galleryImageService.uploadImage(url, url, "second");
+
+        galleryImageService.deleteImage(first.getId());
+        assertThat(blobStore.open("shared.jpg")).isPresent();
+
+        galleryImageService.deleteImage(second.getId());
+        assertThat(blobStore.open("shared.jpg")).isEmpty();
+    }
+}
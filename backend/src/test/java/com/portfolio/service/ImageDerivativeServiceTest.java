@@ -0,0 +1,82 @@
+package com.portfolio.service;
+
+import com.portfolio.storage.InMemoryBlobStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageDerivativeServiceTest {
+
+    private final InMemoryBlobStore blobStore = new InMemoryBlobStore("http://localhost:8080");
+    private final ImageDerivativeService service = new ImageDerivativeService(
+            blobStore, null, null, new SimpleMeterRegistry(), List.of(320, 640, 1280), 40_000_000);
+
+    @Test
+    void portraitPhotoStoredSidewaysIsDecodedUpright() throws IOException {
+        // Landscape pixels, red on the left, tagged "rotate 90° clockwise to display"
+        byte[] jpeg = withOrientation(landscapeJpeg(), 6);
+        blobStore.put("portrait.jpg", new ByteArrayInputStream(jpeg), jpeg.length, "image/jpeg");
+
+        BufferedImage decoded = service.decode("portrait.jpg");
+
+        assertThat(decoded.getWidth()).isEqualTo(20);
+        assertThat(decoded.getHeight()).isEqualTo(40);
+        assertThat(new Color(decoded.getRGB(10, 5)).getRed()).isGreaterThan(200);
+        assertThat(new Color(decoded.getRGB(10, 35)).getBlue()).isGreaterThan(200);
+    }
+
+    @Test
+    void imageWithoutExifKeepsItsShape() throws IOException {
+        byte[] jpeg = landscapeJpeg();
+        blobStore.put("plain.jpg", new ByteArrayInputStream(jpeg), jpeg.length, "image/jpeg");
+
+        BufferedImage decoded = service.decode("plain.jpg");
+
+        assertThat(decoded.getWidth()).isEqualTo(40);
+        assertThat(decoded.getHeight()).isEqualTo(20);
+    }
+
+    private static byte[] landscapeJpeg() throws IOException {
+        BufferedImage image = new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 20, 20);
+        g.setColor(Color.BLUE);
+        g.fillRect(20, 0, 20, 20);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Insert an APP1 EXIF segment holding only the orientation tag right after the SOI marker
+     */
+    private static byte[] withOrientation(byte[] jpeg, int orientation) {
+        ByteBuffer tiff = ByteBuffer.allocate(26);
+        tiff.put(new byte[]{'M', 'M'}).putShort((short) 42).putInt(8);
+        tiff.putShort((short) 1);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        tiff.putInt(0);
+
+        byte[] exif = {'E', 'x', 'i', 'f', 0, 0};
+        int length = 2 + exif.length + tiff.capacity();
+        ByteBuffer result = ByteBuffer.allocate(jpeg.length + 2 + length);
+        result.put(jpeg, 0, 2);
+        result.put((byte) 0xFF).put((byte) 0xE1).putShort((short) length);
+        result.put(exif).put(tiff.array());
+        result.put(jpeg, 2, jpeg.length - 2);
+        return result.array();
+    }
+}
@@ -0,0 +1,107 @@
+package com.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlugifierTest {
+
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    @Test
+    void asciiPunctuationIsDroppedAndSeparatorsCollapse() {
+        assertThat(Slugifier.slugify("Hello, World!", UNLIMITED)).isEqualTo("hello-world");
+        assertThat(Slugifier.slugify("  Spring -- Boot\t3\n", UNLIMITED)).isEqualTo("spring-boot-3");
+        assertThat(Slugifier.slugify("C++ & C#", UNLIMITED)).isEqualTo("c-c");
+        assertThat(Slugifier.slugify("---", UNLIMITED)).isEmpty();
+        assertThat(Slugifier.slugify("", UNLIMITED)).isEmpty();
+        assertThat(Slugifier.slugify(null, UNLIMITED)).isEmpty();
+    }
+
+    @Test
+    void accentsAreStrippedAfterDecomposition() {
+        assertThat(Slugifier.slugify("Café Crème Brûlée", UNLIMITED)).isEqualTo("cafe-creme-brulee");
+        assertThat(Slugifier.slugify("Ångström naïveté", UNLIMITED)).isEqualTo("angstrom-naivete");
+        // Compatibility forms decompose too: the ligature and the full-width letters become plain ASCII
+        assertThat(Slugifier.slugify("ﬁne ＡＢＣ", UNLIMITED)).isEqualTo("fine-abc");
+    }
+
+    @Test
+    void latinLettersWithoutDecompositionAreSpelledOut() {
+        assertThat(Slugifier.slugify("Straße", UNLIMITED)).isEqualTo("strasse");
+        assertThat(Slugifier.slugify("Ærøskøbing", UNLIMITED)).isEqualTo("aeroskobing");
+        assertThat(Slugifier.slugify("Łódź Œuvre Þór", UNLIMITED)).isEqualTo("lodz-oeuvre-thor");
+    }
+
+    @Test
+    void otherScriptsAreKeptLowercased() {
+        assertThat(Slugifier.slugify("Привет Мир", UNLIMITED)).isEqualTo("привет-мир");
+        assertThat(Slugifier.slugify("日本語 の ブログ", UNLIMITED)).isEqualTo("日本語-の-ブログ");
+        // Their marks are part of the letter, not an accent to strip
+        assertThat(Slugifier.slugify("Новый Год", UNLIMITED)).isEqualTo("новый-год");
+        assertThat(Slugifier.slugify("Ελληνικά ٣", UNLIMITED)).isEqualTo("ελληνικά-٣");
+    }
+
+    @Test
+    void unicodeSpacesAndDashesSeparate() {
+        assertThat(Slugifier.slugify("one two three", UNLIMITED)).isEqualTo("one-two-three");
+        assertThat(Slugifier.slugify("2010–2020 — a decade", UNLIMITED)).isEqualTo("2010-2020-a-decade");
+        // Symbols that aren't separators just disappear; ™ decomposes to TM first
+        assertThat(Slugifier.slugify("I ♥ Java™", UNLIMITED)).isEqualTo("i-javatm");
+    }
+
+    @Test
+    void maxLengthNeverLeavesATrailingHyphen() {
+        assertThat(Slugifier.slugify("hello world", 5)).isEqualTo("hello");
+        assertThat(Slugifier.slugify("hello world", 6)).isEqualTo("hello");
+        assertThat(Slugifier.slugify("hello world", 7)).isEqualTo("hello-w");
+        // A transliteration that doesn't fit is left out whole
+        assertThat(Slugifier.slugify("abcß", 4)).isEqualTo("abc");
+        assertThat(Slugifier.slugify("abcß", 5)).isEqualTo("abcss");
+    }
+
+    @Test
+    void asciiMatchesTheLegacyRegexChain() {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        for (int run = 0; run < 200_000; run++) {
+            text.setLength(0);
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                // Bias towards letters, digits and separators so slugs aren't mostly empty
+                text.append(switch (random.nextInt(4)) {
+                    case 0 -> (char) random.nextInt(0x80);
+                    case 1 -> " -\t\n_.".charAt(random.nextInt(6));
+                    default -> "aZ09xY".charAt(random.nextInt(6));
+                });
+            }
+            String input = text.toString();
+            int maxLength = 1 + random.nextInt(30);
+
+            assertThat(Slugifier.slugify(input, UNLIMITED)).as("%s", input).isEqualTo(legacy(input));
+            assertThat(Slugifier.slugify(input, maxLength)).as("%s cut to %d", input, maxLength)
+                    .isEqualTo(legacyCut(input, maxLength));
+        }
+    }
+
+    /**
+     * The regex chain the services used before Slugifier
+     */
+    private static String legacy(String text) {
+        return text.toLowerCase()
+                .replaceAll("[^a-z0-9\\s-]", "")
+                .replaceAll("\\s+", "-")
+                .replaceAll("-+", "-")
+                .replaceAll("^-|-$", "");
+    }
+
+    private static String legacyCut(String text, int maxLength) {
+        String slug = legacy(text);
+        if (slug.length() > maxLength) {
+            slug = slug.substring(0, maxLength);
+        }
+        return slug.endsWith("-") ? slug.substring(0, slug.length() - 1) : slug;
+    }
+}
@@ -0,0 +1,83 @@
+package com.portfolio.service;
+
+import com.portfolio.PostgresIntegrationTest;
+import com.portfolio.dto.PostSearchHit;
+import com.portfolio.model.BlogPost;
+import com.portfolio.model.Tag;
+import com.portfolio.repository.TagRepository;
+import com.portfolio.repository.UserRepository;
+import com.portfolio.search.SearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "app.search.engine=memory")
+class TagServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private BlogPostService blogPostService;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void renamingAndDeletingATagReindexesItsPosts() {
+        BlogPost post = new BlogPost();
+        post.setTitle("Notes on concurrency");
+        post.setContent("Locks and queues.");
+        post.setPublished(true);
+        Long postId = blogPostService.createPost(post, userRepository.findAll().get(0), Set.of("zanzibar")).getId();
+        Tag tag = tagRepository.findByName("zanzibar").orElseThrow();
+        assertThat(vectorMatches(postId, "zanzibar")).isTrue();
+
+        tagService.updateTag(tag.getId(), "quokka");
+        assertThat(postIds(searchIndex.search("zanzibar", false, 0, 10))).doesNotContain(postId);
+        assertThat(postIds(searchIndex.search("quokka", false, 0, 10))).contains(postId);
+        assertThat(vectorMatches(postId, "quokka")).isTrue();
+
+        tagService.deleteTag(tag.getId());
+        assertThat(postIds(searchIndex.search("quokka", false, 0, 10))).doesNotContain(postId);
+        assertThat(postIds(searchIndex.search("concurrency", false, 0, 10))).contains(postId);
+        assertThat(tagRepository.findById(tag.getId())).isEmpty();
+        assertThat(vectorMatches(postId, "quokka")).isFalse();
+    }
+
+    @Test
+    void renamingATagOntoATakenSlugGetsASuffix() {
+        tagService.createTag("Go Lang");
+        Tag tag = tagService.createTag("golang");
+
+        // Same slug as before the rename, so the tag keeps it
+        assertThat(tagService.updateTag(tag.getId(), "GoLang").getSlug()).isEqualTo("golang");
+        assertThat(tagService.updateTag(tag.getId(), "go-lang").getSlug()).isEqualTo("go-lang-1");
+    }
+
+    // The PostgreSQL search vector, kept current by the triggers SchemaInitializer installs
+    private boolean vectorMatches(Long postId, String term) {
+        return jdbcTemplate.queryForObject(
+                "SELECT search_vector @@ plainto_tsquery('english', ?) FROM blog_posts WHERE id = ?",
+                Boolean.class, term, postId);
+    }
+
+    private static List<Long> postIds(List<PostSearchHit> results) {
+        return results.stream().map(PostSearchHit::getId).toList();
+    }
+}
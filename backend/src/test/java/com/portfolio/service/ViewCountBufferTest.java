@@ -0,0 +1,37 @@
+package com.portfolio.service;
+
+import com.portfolio.repository.BlogPostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ViewCountBufferTest {
+
+    private final BlogPostRepository blogPostRepository = mock(BlogPostRepository.class);
+    private final ViewCountBuffer buffer = new ViewCountBuffer(blogPostRepository, new SimpleMeterRegistry());
+
+    @Test
+    void postsWithoutNewViewsLeaveTheBuffer() {
+        buffer.increment(1L);
+        buffer.increment(1L);
+        buffer.increment(2L);
+
+        buffer.flush();
+        verify(blogPostRepository).incrementViewCounts(Map.of(1L, 2L, 2L, 1L));
+        assertThat(buffer.trackedPosts()).isEqualTo(2);
+
+        buffer.increment(2L);
+        buffer.flush();
+        verify(blogPostRepository).incrementViewCounts(Map.of(2L, 1L));
+        assertThat(buffer.trackedPosts()).isEqualTo(1);
+
+        buffer.flush();
+        assertThat(buffer.trackedPosts()).isZero();
+        assertThat(buffer.pendingViews()).isZero();
+    }
+}
@@ -1,25 +1,30 @@
 import { useEffect, useState } from 'react';
 import { Link } from 'react-router-dom';
 import { blogApi } from '../services/api';
-import type { BlogPost } from '../services/api';
+import type { BlogPostSummary } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 
 const EMPTY_FORM = { title: '', excerpt: '', content: '', published: true };
 
 export default function BlogPage() {
   const { isOwner } = useAuth();
-  const [posts, setPosts] = useState<BlogPost[]>([]);
+  const [posts, setPosts] = useState<BlogPostSummary[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [showForm, setShowForm] = useState(false);
-  const [editing, setEditing] = useState<BlogPost | null>(null);
+  const [editing, setEditing] = useState<BlogPostSummary | null>(null);
   const [form, setForm] = useState(EMPTY_FORM);
   const [search, setSearch] = useState('');
 
   const fetchPosts = async (query?: string) => {
     try {
-      const res = query ? await blogApi.searchByTitle(query) : await blogApi.getAll();
-      setPosts(res.data);
+      if (query) {
+        const res = await blogApi.search(query);
+        setPosts(res.data.map(result => result.post));
+      } else {
+        const res = await blogApi.getAll();
+        setPosts(res.data);
+      }
     } catch {
       setError('Failed to fetch blog posts');
     } finally {
@@ -40,10 +45,16 @@ export default function BlogPage() {
     setShowForm(true);
   };
 
-  const openEdit = (post: BlogPost) => {
-    setEditing(post);
-    setForm({ title: post.title, excerpt: post.excerpt, content: post.content, published: post.published });
-    setShowForm(true);
+  const openEdit = async (summary: BlogPostSummary) => {
+    // The listing only carries summaries, so load the full post for editing
+    try {
+      const { data: post } = await blogApi.getForEdit(summary.id);
+      setEditing(summary);
+      setForm({ title: post.title, excerpt: post.excerpt, content: post.content, published: post.published });
+      setShowForm(true);
+    } catch {
+      alert('Failed to load post');
+    }
   };
 
   const handleSubmit = async (e: React.FormEvent) => {
@@ -108,6 +119,7 @@ export default function BlogPage() {
               <div className="post-meta">
                 <span>{new Date(post.createdAt).toLocaleDateString()}</span>
                 <span>{post.viewCount} views</span>
+                <span>{post.commentCount} comments</span>
                 {!post.published && <span className="draft-badge">Draft</span>}
               </div>
               {isOwner && (
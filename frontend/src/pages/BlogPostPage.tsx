@@ -1,4 +1,4 @@
-import { useEffect, useState } from 'react';
+import { useEffect, useRef, useState } from 'react';
 import { useParams, useNavigate, Link } from 'react-router-dom';
 import ReactMarkdown from 'react-markdown';
 import remarkGfm from 'remark-gfm';
@@ -15,17 +15,24 @@ export default function BlogPostPage() {
 
   const [post, setPost] = useState<BlogPost | null>(null);
   const [comments, setComments] = useState<Comment[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [commentText, setCommentText] = useState('');
   const [submitting, setSubmitting] = useState(false);
+  // Ids already applied, so a comment arriving both from our own POST and from the stream counts once
+  const seenIds = useRef(new Set<number>());
+  const removedIds = useRef(new Set<number>());
 
   useEffect(() => {
     const fetchPost = async () => {
       try {
         const res = await blogApi.getBySlug(slug!);
         setPost(res.data);
-        const commentsRes = await commentsApi.getByPostId(res.data.id);
-        setComments(commentsRes.data);
+        const commentsRes = await commentsApi.getPage(res.data.id);
+        commentsRes.data.items.forEach(c => seenIds.current.add(c.id));
+        setComments(commentsRes.data.items);
+        setNextCursor(commentsRes.data.nextCursor);
       } catch {
         navigate('/blog');
       } finally {
@@ -35,13 +42,38 @@ export default function BlogPostPage() {
     fetchPost();
   }, [slug]);
 
+  const addComment = (comment: Comment) => {
+    if (seenIds.current.has(comment.id)) return;
+    seenIds.current.add(comment.id);
+    setComments(prev => [comment, ...prev]);
+    setPost(prev => prev && { ...prev, commentCount: prev.commentCount + 1 });
+  };
+
+  const removeComment = (id: number) => {
+    if (removedIds.current.has(id)) return;
+    removedIds.current.add(id);
+    setComments(prev => prev.filter(c => c.id !== id));
+    setPost(prev => prev && { ...prev, commentCount: Math.max(0, prev.commentCount - 1) });
+  };
+
+  // Live updates from other readers; EventSource reconnects on its own after drops
+  const postId = post?.id;
+  useEffect(() => {
+    if (postId === undefined) return;
+    const source = new EventSource(commentsApi.streamUrl(postId));
+    source.addEventListener('comment', e => addComment(JSON.parse((e as MessageEvent).data)));
+    source.addEventListener('comment-deleted', e => removeComment(JSON.parse((e as MessageEvent).data).id));
+    return () => source.close();
+  }, [postId]);
+
   const handleComment = async (e: React.FormEvent) => {
     e.preventDefault();
     if (!commentText.trim()) return;
     setSubmitting(true);
     try {
       const res = await commentsApi.create(post!.id, commentText.trim());
-      setComments(prev => [...prev, res.data]);
+      // 202 means it was queued; it shows up through the stream once written
+      if (res.status === 201) addComment(res.data);
       setCommentText('');
     } catch {
       alert('Failed to post comment');
@@ -50,10 +82,23 @@ export default function BlogPostPage() {
     }
   };
 
+  const loadMoreComments = async () => {
+    if (!post || !nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const res = await commentsApi.getPage(post.id, nextCursor);
+      res.data.items.forEach(c => seenIds.current.add(c.id));
+      setComments(prev => [...prev, ...res.data.items]);
+      setNextCursor(res.data.nextCursor);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleDeleteComment = async (id: number) => {
     if (!confirm('Delete this comment?')) return;
     await commentsApi.delete(id);
-    setComments(prev => prev.filter(c => c.id !== id));
+    removeComment(id);
   };
 
   if (loading) return <div className="loading">Loading...</div>;
@@ -98,7 +143,7 @@ export default function BlogPostPage() {
       </div>
 
       <div className="comments-section">
-        <h2>{comments.length} Comment{comments.length !== 1 ? 's' : ''}</h2>
+        <h2>{post.commentCount} Comment{post.commentCount !== 1 ? 's' : ''}</h2>
 
         <form className="comment-form" onSubmit={handleComment}>
           <textarea
@@ -132,6 +177,11 @@ export default function BlogPostPage() {
               <p className="comment-content">{comment.content}</p>
             </div>
           ))}
+          {nextCursor && (
+            <button className="btn-secondary" onClick={loadMoreComments} disabled={loadingMore}>
+              {loadingMore ? 'Loading...' : 'Load more comments'}
+            </button>
+          )}
         </div>
       </div>
     </div>
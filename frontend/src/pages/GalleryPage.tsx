@@ -3,6 +3,14 @@ import { galleryApi, uploadFile } from '../services/api';
 import type { GalleryImage } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 
+// Width-bounded copies generated by the backend, widest last, with the original as the fallback
+const srcSet = (image: GalleryImage) => {
+  const variants = Object.entries(image.variants ?? {})
+    .sort(([a], [b]) => Number(a) - Number(b))
+    .map(([width, url]) => `${url} ${width}w`);
+  return variants.length > 0 ? variants.join(', ') : undefined;
+};
+
 export default function GalleryPage() {
   const { isOwner } = useAuth();
   const [images, setImages] = useState<GalleryImage[]>([]);
@@ -88,8 +96,17 @@ export default function GalleryPage() {
       <div className="gallery-grid">
         {images.map((image) => (
           <div key={image.id} className="gallery-item" onClick={() => setLightboxImage(image)}>
-            <div className="gallery-img-wrap">
-              <img src={image.imageUrl} alt={image.caption} />
+            <div
+              className="gallery-img-wrap"
+              style={image.placeholder ? { backgroundImage: `url(${image.placeholder})`, backgroundSize: 'cover' } : undefined}
+            >
+              <img
+                src={image.thumbnailUrl || image.imageUrl}
+                srcSet={srcSet(image)}
+                sizes="(max-width: 600px) 100vw, 33vw"
+                loading="lazy"
+                alt={image.caption}
+              />
             </div>
             {image.caption && <p className="caption">{image.caption}</p>}
             {isOwner && (
@@ -53,15 +53,29 @@ export type BlogPost = {
   excerpt: string;
   published: boolean;
   viewCount: number;
+  commentCount: number;
   createdAt: string;
   updatedAt: string;
 }
 
+// List endpoints return summaries without the post content
+export type BlogPostSummary = Omit<BlogPost, 'content'> & {
+  tags: Pick<Tag, 'id' | 'name' | 'slug'>[];
+}
+
+export type PostSearchResult = {
+  post: BlogPostSummary;
+  rank: number;
+  snippet: string;
+}
+
 export type GalleryImage = {
   id: number;
   imageUrl: string;
   thumbnailUrl: string;
   caption: string;
+  variants?: Record<string, string>;
+  placeholder?: string | null;
   displayOrder: number;
   uploadedAt: string;
 }
@@ -73,6 +87,13 @@ export type Tag = {
   createdAt: string;
 }
 
+export type HomeData = {
+  featuredProjects: Project[];
+  recentPosts: BlogPostSummary[];
+  tags: Tag[];
+  gallery: GalleryImage[];
+}
+
 export type Comment = {
   id: number;
   content: string;
@@ -80,6 +101,12 @@ export type Comment = {
   createdAt: string;
 }
 
+// One page of a keyset-paginated listing; nextCursor is null on the last page
+export type CursorPage<T> = {
+  items: T[];
+  nextCursor: string | null;
+}
+
 // Auth
 export const authApi = {
   login: (username: string, password: string) =>
@@ -102,14 +129,18 @@ export const projectsApi = {
   create: (data: Partial<Project>) => api.post<Project>('/projects', data),
   update: (id: number, data: Partial<Project>) => api.put<Project>(`/projects/${id}`, data),
   delete: (id: number) => api.delete(`/projects/${id}`),
+  reorder: (ids: number[]) => api.put('/projects/reorder', ids),
 };
 
 // Blog
 export const blogApi = {
-  getAll: () => api.get<BlogPost[]>('/posts'),
+  getAll: () => api.get<BlogPostSummary[]>('/posts'),
   getBySlug: (slug: string) => api.get<BlogPost>(`/posts/slug/${slug}`),
-  searchByTitle: (title: string) => api.get<BlogPost[]>(`/posts/search?title=${title}`),
-  getByTag: (tagSlug: string) => api.get<BlogPost[]>(`/posts/tag/${tagSlug}`),
+  // Loads a post for editing without counting a view
+  getForEdit: (id: number) => api.get<BlogPost>(`/posts/${id}`, { params: { countView: false } }),
+  searchByTitle: (title: string) => api.get<BlogPostSummary[]>(`/posts/search?title=${title}`),
+  search: (q: string) => api.get<PostSearchResult[]>('/posts/search', { params: { q } }),
+  getByTag: (tagSlug: string) => api.get<BlogPostSummary[]>(`/posts/tag/${tagSlug}`),
   create: (data: Partial<BlogPost>) => api.post<BlogPost>('/posts', data),
   update: (id: number, data: Partial<BlogPost>) => api.put<BlogPost>(`/posts/${id}`, data),
   delete: (id: number) => api.delete(`/posts/${id}`),
@@ -120,13 +151,18 @@ export const galleryApi = {
   getAll: () => api.get<GalleryImage[]>('/gallery'),
   create: (data: Partial<GalleryImage>) => api.post<GalleryImage>('/gallery', data),
   delete: (id: number) => api.delete(`/gallery/${id}`),
+  reorder: (ids: number[]) => api.put('/gallery/reorder', ids),
 };
 
 // Comments
 export const commentsApi = {
   getByPostId: (postId: number) => api.get<Comment[]>(`/comments/post/${postId}`),
+  getPage: (postId: number, cursor?: string | null) =>
+    api.get<CursorPage<Comment>>(`/comments/post/${postId}/page`, { params: { cursor: cursor ?? undefined } }),
   create: (postId: number, content: string) =>
     api.post<Comment>('/comments', { postId, content }),
+  // Server-Sent Events: 'comment' carries a new Comment, 'comment-deleted' carries { id }
+  streamUrl: (postId: number) => `${API_BASE_URL}/comments/post/${postId}/stream`,
   delete: (id: number) => api.delete(`/comments/${id}`),
 };
 
@@ -135,4 +171,9 @@ export const tagsApi = {
   getAll: () => api.get<Tag[]>('/tags'),
 };
 
+// Home
+export const homeApi = {
+  get: () => api.get<HomeData>('/home'),
+};
+
 export default api;
\ No newline at end of file
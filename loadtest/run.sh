@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Boots the backend against a local PostgreSQL, seeds it, drives the load mix and saves the results.
+#
+#   ./run.sh [--key=value ...]                  compose database (infrastructure/docker-compose.yml)
+#   DB=embedded ./run.sh [--key=value ...]      embedded PostgreSQL, no Docker needed
+#   ./run.sh compare results/a.json results/b.json
+#
+# Backend settings go through as --env.NAME=value, e.g. --env.VIRTUAL_THREADS_ENABLED=true.
+# Set SKIP_BUILD=1 to reuse the backend jar already in backend/target.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+ROOT=..
+JAR="$ROOT/backend/target/backend-0.0.1-SNAPSHOT.jar"
+
+run_harness() {
+    mvn -B -q compile exec:java -Dexec.args="$*"
+}
+
+if [[ "${1:-}" == "compare" ]]; then
+    run_harness "$@"
+    exit 0
+fi
+
+if [[ "${SKIP_BUILD:-0}" != "1" ]]; then
+    mvn -B -q -f "$ROOT/backend/pom.xml" package -DskipTests
+fi
+
+DB_ARG=()
+if [[ "${DB:-compose}" == "embedded" ]]; then
+    DB_ARG=(--db=embedded)
+else
+    docker compose -f "$ROOT/infrastructure/docker-compose.yml" up -d postgres
+    until docker exec portfolio-db pg_isready -U postgres >/dev/null 2>&1; do sleep 1; done
+fi
+
+LABEL="run-$(date +%Y%m%d-%H%M%S)"
+for arg in "$@"; do
+    [[ "$arg" == --label=* ]] && LABEL="${arg#--label=}"
+done
+
+run_harness --backend-jar="$JAR" "${DB_ARG[@]}" --label="$LABEL" --out="results/$LABEL.json" "$@"
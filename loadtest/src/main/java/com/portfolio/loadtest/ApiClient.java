@@ -0,0 +1,105 @@
+package com.portfolio.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Thin JSON client over java.net.http for seeding and for building the load requests
+ */
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+
+    public ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        // HTTP/1.1 like a browser talking to Tomcat without TLS; the client pools connections per host
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public HttpClient http() {
+        return http;
+    }
+
+    public HttpRequest get(String path) {
+        return get(path, null);
+    }
+
+    public HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    public HttpRequest postJson(String path, Object body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Send and parse the JSON response, failing on anything but 2xx
+     */
+    public JsonNode exchange(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+        return response.body().length == 0 ? mapper.nullNode() : mapper.readTree(response.body());
+    }
+
+    public String login(String username, String password) throws IOException, InterruptedException {
+        JsonNode body = exchange(postJson("/api/auth/login", Map.of("username", username, "password", password), null));
+        return body.get("token").asText();
+    }
+
+    /**
+     * Whether the backend serves a public read; actuator health sits behind authentication
+     */
+    public boolean isUp() {
+        try {
+            HttpResponse<Void> response = http.send(
+                    HttpRequest.newBuilder(uri("/api/tags")).timeout(Duration.ofSeconds(2)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return mapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
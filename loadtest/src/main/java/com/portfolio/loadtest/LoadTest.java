@@ -0,0 +1,38 @@
+package com.portfolio.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Entry point.
+ * <pre>
+ *   LoadTest [--key=value ...]               boot (optionally), seed, run, report
+ *   LoadTest compare base.json candidate.json
+ * </pre>
+ * See loadtest/README.md for the options.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("compare")) {
+            if (args.length != 3) {
+                throw new IllegalArgumentException("Usage: compare <base.json> <candidate.json>");
+            }
+            Report.compare(Path.of(args[1]), Path.of(args[2]), System.out);
+            return;
+        }
+
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ApiClient client = new ApiClient(config.baseUrl());
+        try (LocalStack ignored = LocalStack.start(config, client)) {
+            Seeder.SeedData data = new Seeder(client, config).run();
+            String token = client.login(config.username(), config.password());
+            Workload workload = new Workload(config.mix(), client, data, config, token);
+
+            Report report = new Runner(config, workload, client.http()).run();
+            report.print(System.out);
+            if (config.out() != null) {
+                report.write(config.out());
+            }
+        }
+    }
+}
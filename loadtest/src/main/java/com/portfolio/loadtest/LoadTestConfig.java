@@ -0,0 +1,93 @@
+package com.portfolio.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings for one run, read from --key=value arguments. Backend environment variables are passed
+ * as --env.NAME=value and only apply when the harness boots the backend itself.
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        Path backendJar,
+        Map<String, String> backendEnv,
+        String db,
+        String username,
+        String password,
+        boolean seed,
+        int posts,
+        int tags,
+        int commentsPerPost,
+        int projects,
+        int galleryImages,
+        String mix,
+        boolean authReads,
+        int rate,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        String label,
+        Path out) {
+
+    public static final String EMBEDDED_DB = "embedded";
+
+    private static final Set<String> KNOWN = Set.of(
+            "base-url", "backend-jar", "db", "username", "password", "seed", "posts", "tags",
+            "comments-per-post", "projects", "gallery-images", "mix", "auth-reads", "rate", "concurrency", "warmup",
+            "duration", "label", "out");
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, String> env = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.startsWith("env.")) {
+                env.put(key.substring(4), value);
+            } else {
+                options.put(key, value);
+            }
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                options.getOrDefault("base-url", "http://localhost:8080"),
+                options.containsKey("backend-jar") ? Path.of(options.get("backend-jar")) : null,
+                env,
+                options.getOrDefault("db", "jdbc:postgresql://localhost:5432/portfolio"),
+                options.getOrDefault("username", "admin"),
+                options.getOrDefault("password", "Zheng9012yi*"),
+                Boolean.parseBoolean(options.getOrDefault("seed", "true")),
+                Integer.parseInt(options.getOrDefault("posts", "100")),
+                Integer.parseInt(options.getOrDefault("tags", "20")),
+                Integer.parseInt(options.getOrDefault("comments-per-post", "10")),
+                Integer.parseInt(options.getOrDefault("projects", "20")),
+                Integer.parseInt(options.getOrDefault("gallery-images", "40")),
+                options.getOrDefault("mix", Workload.DEFAULT_MIX),
+                Boolean.parseBoolean(options.getOrDefault("auth-reads", "false")),
+                Integer.parseInt(options.getOrDefault("rate", "0")),
+                Integer.parseInt(options.getOrDefault("concurrency", "16")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                options.getOrDefault("label", "run"),
+                options.containsKey("out") ? Path.of(options.get("out")) : null);
+
+        options.keySet().removeAll(KNOWN);
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        return config;
+    }
+
+    /**
+     * Open model at a fixed arrival rate when set, otherwise a closed loop of concurrency workers
+     */
+    public boolean openModel() {
+        return rate > 0;
+    }
+}
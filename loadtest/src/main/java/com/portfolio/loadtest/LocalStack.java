@@ -0,0 +1,105 @@
+package com.portfolio.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The database and backend process a run talks to. With no backend jar configured nothing is started
+ * and the run targets whatever already listens on the base URL.
+ */
+public class LocalStack implements AutoCloseable {
+
+    private static final long STARTUP_TIMEOUT_MS = 180_000;
+
+    private EmbeddedPostgres embeddedPostgres;
+    private Process backend;
+
+    public static LocalStack start(LoadTestConfig config, ApiClient client) throws Exception {
+        LocalStack stack = new LocalStack();
+        try {
+            if (config.backendJar() != null) {
+                String jdbcUrl = config.db();
+                if (LoadTestConfig.EMBEDDED_DB.equals(config.db())) {
+                    jdbcUrl = stack.startEmbeddedPostgres();
+                }
+                stack.startBackend(config, jdbcUrl);
+            }
+            stack.awaitBackend(client);
+            return stack;
+        } catch (Exception e) {
+            stack.close();
+            throw e;
+        }
+    }
+
+    private String startEmbeddedPostgres() throws IOException, SQLException {
+        embeddedPostgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = embeddedPostgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE portfolio");
+        }
+        String url = embeddedPostgres.getJdbcUrl("postgres", "portfolio");
+        log("Embedded PostgreSQL on port " + embeddedPostgres.getPort());
+        return url;
+    }
+
+    private void startBackend(LoadTestConfig config, String jdbcUrl) throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        int port = URI.create(config.baseUrl()).getPort();
+        List<String> command = new ArrayList<>(List.of(java, "-jar", config.backendJar().toString()));
+        if (port > 0) {
+            command.add("--server.port=" + port);
+        }
+
+        Path logFile = Path.of("target", "backend-" + config.label() + ".log");
+        Files.createDirectories(logFile.getParent());
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile());
+        builder.environment().put("SPRING_DATASOURCE_URL", jdbcUrl);
+        builder.environment().putAll(config.backendEnv());
+        backend = builder.start();
+        log("Backend started (pid " + backend.pid() + ", env " + config.backendEnv() + "), log in " + logFile);
+    }
+
+    private void awaitBackend(ApiClient client) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MS;
+        while (!client.isUp()) {
+            if (backend != null && !backend.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + backend.exitValue() + " during startup");
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Backend not healthy after " + STARTUP_TIMEOUT_MS + " ms");
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        if (backend != null) {
+            // SIGTERM, so the backend runs its graceful shutdown (and flushes queued comments)
+            backend.destroy();
+            if (!backend.waitFor(60, TimeUnit.SECONDS)) {
+                backend.destroyForcibly();
+            }
+        }
+        if (embeddedPostgres != null) {
+            embeddedPostgres.close();
+        }
+    }
+
+    static void log(String message) {
+        System.out.println("[loadtest] " + message);
+    }
+}
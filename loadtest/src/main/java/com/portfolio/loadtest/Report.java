@@ -0,0 +1,125 @@
+package com.portfolio.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint throughput and latency percentiles of a run, printable and saved as JSON so two runs can
+ * be compared with {@code LoadTest compare}
+ */
+public class Report {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Result result;
+
+    Report(LoadTestConfig config, List<Runner.EndpointStats> stats, long durationNanos, long dropped) {
+        double seconds = durationNanos / 1e9;
+        List<Row> rows = new ArrayList<>();
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Runner.EndpointStats endpoint : stats) {
+            rows.add(Row.of(endpoint.name(), endpoint.latencies(), endpoint.errors(), seconds));
+            total.add(endpoint.latencies());
+            totalErrors += endpoint.errors();
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("mix", config.mix());
+        settings.put("model", config.openModel() ? "open" : "closed");
+        settings.put("rate", config.rate());
+        settings.put("concurrency", config.concurrency());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("posts", config.posts());
+        settings.put("commentsPerPost", config.commentsPerPost());
+        settings.put("backendEnv", config.backendEnv());
+        this.result = new Result(config.label(), Instant.now().toString(), settings, dropped, rows,
+                Row.of("total", total, totalErrors, seconds));
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nRun '%s'%s%n", result.label(),
+                result.dropped() > 0 ? " (" + result.dropped() + " requests dropped: client in-flight limit)" : "");
+        out.printf("%-10s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row row : result.endpoints()) {
+            print(out, row);
+        }
+        print(out, result.total());
+    }
+
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), result);
+        LocalStack.log("Results written to " + path);
+    }
+
+    /**
+     * Side-by-side percentiles of two saved runs, with the candidate's change relative to the base
+     */
+    public static void compare(Path basePath, Path candidatePath, PrintStream out) throws IOException {
+        Result base = MAPPER.readValue(basePath.toFile(), Result.class);
+        Result candidate = MAPPER.readValue(candidatePath.toFile(), Result.class);
+        out.printf("%nBase '%s' vs candidate '%s'%n", base.label(), candidate.label());
+        out.printf("%-10s %22s %22s %22s %22s%n", "endpoint", "req/s", "p50 ms", "p99 ms", "p99.9 ms");
+
+        Map<String, Row> candidateRows = new LinkedHashMap<>();
+        candidate.endpoints().forEach(row -> candidateRows.put(row.name(), row));
+        List<Row[]> pairs = new ArrayList<>();
+        for (Row row : base.endpoints()) {
+            if (candidateRows.containsKey(row.name())) {
+                pairs.add(new Row[] {row, candidateRows.get(row.name())});
+            }
+        }
+        pairs.add(new Row[] {base.total(), candidate.total()});
+        for (Row[] pair : pairs) {
+            out.printf("%-10s %22s %22s %22s %22s%n", pair[0].name(),
+                    delta(pair[0].throughput(), pair[1].throughput()),
+                    delta(pair[0].p50Ms(), pair[1].p50Ms()),
+                    delta(pair[0].p99Ms(), pair[1].p99Ms()),
+                    delta(pair[0].p999Ms(), pair[1].p999Ms()));
+        }
+    }
+
+    private static String delta(double base, double candidate) {
+        String change = base == 0 ? "n/a" : String.format("%+.0f%%", (candidate - base) / base * 100);
+        return String.format("%.1f -> %.1f %s", base, candidate, change);
+    }
+
+    private static void print(PrintStream out, Row row) {
+        out.printf("%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", row.name(), row.requests(), row.errors(),
+                row.throughput(), row.p50Ms(), row.p90Ms(), row.p99Ms(), row.p999Ms(), row.maxMs());
+    }
+
+    public record Result(String label, String finishedAt, Map<String, Object> settings, long dropped,
+                         List<Row> endpoints, Row total) {
+    }
+
+    public record Row(String name, long requests, long errors, double throughput,
+                      double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        static Row of(String name, Histogram micros, long errors, double seconds) {
+            return new Row(name, micros.getTotalCount(), errors, micros.getTotalCount() / seconds,
+                    millis(micros, 50), millis(micros, 90), millis(micros, 99), millis(micros, 99.9),
+                    micros.getTotalCount() == 0 ? 0 : micros.getMaxValue() / 1000.0);
+        }
+
+        private static double millis(Histogram micros, double percentile) {
+            return micros.getTotalCount() == 0 ? 0 : micros.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.portfolio.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the workload for warmup + duration and records latency per endpoint.
+ * <p>
+ * With a rate set this is an open model: request i is due at start + i / rate, whether or not earlier
+ * ones have returned, and its latency counts from when it was due. A slow server therefore shows up as
+ * queueing in the percentiles instead of as a lower send rate (no coordinated omission). Without a rate,
+ * a fixed number of workers each send the next request as soon as the last one returns, which finds
+ * peak throughput but understates tail latency under overload.
+ */
+public class Runner {
+
+    // Latencies are recorded in microseconds, up to a minute, to three significant digits
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    private final LoadTestConfig config;
+    private final Workload workload;
+    private final HttpClient http;
+    private final List<EndpointStats> stats = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile long measureStartNanos;
+    private volatile long endNanos;
+
+    public Runner(LoadTestConfig config, Workload workload, HttpClient http) {
+        this.config = config;
+        this.workload = workload;
+        this.http = http;
+        for (String name : workload.names()) {
+            stats.add(new EndpointStats(name));
+        }
+    }
+
+    public Report run() throws InterruptedException {
+        long start = System.nanoTime();
+        measureStartNanos = start + config.warmup().toNanos();
+        endNanos = measureStartNanos + config.duration().toNanos();
+        LocalStack.log(String.format("%s model, %s, warmup %ds, measuring %ds",
+                config.openModel() ? "Open" : "Closed",
+                config.openModel() ? config.rate() + " req/s" : config.concurrency() + " workers",
+                config.warmup().toSeconds(), config.duration().toSeconds()));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (config.openModel()) {
+                dispatchAtRate(executor, start);
+            } else {
+                for (int i = 0; i < config.concurrency(); i++) {
+                    executor.execute(this::closedLoop);
+                }
+            }
+        }
+        return new Report(config, stats, config.duration().toNanos(), dropped.sum());
+    }
+
+    private void dispatchAtRate(ExecutorService executor, long start) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= endNanos) {
+                return;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= MAX_IN_FLIGHT) {
+                // The server has stopped keeping up altogether; count it rather than queue without bound
+                if (due >= measureStartNanos) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    call(due);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private void closedLoop() {
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= endNanos) {
+                return;
+            }
+            call(now);
+        }
+    }
+
+    private void call(long dueNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int endpoint = workload.next(random);
+        boolean ok;
+        try {
+            HttpResponse<Void> response = http.send(workload.request(endpoint, random),
+                    HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (dueNanos >= measureStartNanos && dueNanos < endNanos) {
+            stats.get(endpoint).record(System.nanoTime() - dueNanos, ok);
+        }
+    }
+
+    /**
+     * Latency histogram and error count for one endpoint, measured phase only
+     */
+    public static class EndpointStats {
+
+        private final String name;
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        EndpointStats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos, boolean ok) {
+            latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_MICROS));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Histogram latencies() {
+            return latencies;
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.portfolio.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates the data set through the public API, so seeding exercises the same write paths as the owner
+ * does. Content is generated from a fixed seed, so two runs with the same settings see the same shapes.
+ */
+public class Seeder {
+
+    private static final int PARALLELISM = 8;
+
+    private static final String[] WORDS = {
+        "spring", "react", "postgres", "latency", "cache", "index", "query", "thread", "gallery", "deploy",
+        "portfolio", "design", "build", "profile", "benchmark", "stream", "batch", "cloud", "storage", "token"
+    };
+
+    private final ApiClient client;
+    private final LoadTestConfig config;
+    private final Random random = new Random(42);
+
+    public Seeder(ApiClient client, LoadTestConfig config) {
+        this.client = client;
+        this.config = config;
+    }
+
+    /**
+     * Seed if configured, then read back the published posts the workload will target
+     */
+    public SeedData run() throws Exception {
+        String token = client.login(config.username(), config.password());
+        if (config.seed()) {
+            long start = System.nanoTime();
+            List<Long> postIds = seedPosts(token);
+            seedComments(token, postIds);
+            seedProjects(token);
+            seedGallery(token);
+            LocalStack.log(String.format("Seeded %d posts, %d comments, %d projects, %d images in %.1fs",
+                    config.posts(), postIds.size() * config.commentsPerPost(), config.projects(),
+                    config.galleryImages(), (System.nanoTime() - start) / 1e9));
+        }
+        return discover();
+    }
+
+    private List<Long> seedPosts(String token) throws Exception {
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < config.posts(); i++) {
+            Map<String, Object> post = new LinkedHashMap<>();
+            post.put("title", "Load test post " + i + " about " + words(3));
+            post.put("excerpt", sentence(20));
+            post.put("content", markdown(400 + random.nextInt(800)));
+            // A few drafts, which the public endpoints must skip
+            post.put("published", random.nextInt(10) != 0);
+            post.put("tags", tagNames(1 + random.nextInt(3)));
+            tasks.add(() -> client.exchange(client.postJson("/api/posts", post, token)).get("id").asLong());
+        }
+        return runAll(tasks, PARALLELISM);
+    }
+
+    private void seedComments(String token, List<Long> postIds) throws Exception {
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (Long postId : postIds) {
+            for (int i = 0; i < config.commentsPerPost(); i++) {
+                Map<String, Object> comment = Map.of("postId", postId, "content", sentence(8 + random.nextInt(40)));
+                tasks.add(() -> {
+                    client.exchange(client.postJson("/api/comments", comment, token));
+                    return postId;
+                });
+            }
+        }
+        runAll(tasks);
+    }
+
+    private void seedProjects(String token) throws Exception {
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < config.projects(); i++) {
+            Map<String, Object> project = new LinkedHashMap<>();
+            project.put("title", "Load test project " + i);
+            project.put("description", sentence(40));
+            project.put("thumbnailUrl", "/uploads/seed-project-" + i + ".png");
+            project.put("githubUrl", "https://github.com/example/project-" + i);
+            project.put("technologies", List.of(words(1), words(1), words(1)));
+            project.put("featured", i % 5 == 0);
+            tasks.add(() -> client.exchange(client.postJson("/api/projects", project, token)).get("id").asLong());
+        }
+        runAll(tasks);
+    }
+
+    private void seedGallery(String token) throws Exception {
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < config.galleryImages(); i++) {
+            Map<String, Object> image = Map.of(
+                    "imageUrl", "/uploads/seed-image-" + i + ".jpg",
+                    "caption", sentence(6));
+            tasks.add(() -> client.exchange(client.postJson("/api/gallery", image, token)).get("id").asLong());
+        }
+        runAll(tasks);
+    }
+
+    private SeedData discover() throws Exception {
+        JsonNode posts = client.exchange(client.get("/api/posts"));
+        List<Long> ids = new ArrayList<>();
+        List<String> slugs = new ArrayList<>();
+        for (JsonNode post : posts) {
+            ids.add(post.get("id").asLong());
+            slugs.add(post.get("slug").asText());
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No published posts to target; run with --seed=true");
+        }
+        return new SeedData(ids, slugs);
+    }
+
+    private static <T> List<T> runAll(List<Callable<T>> tasks) throws Exception {
+        return runAll(tasks, PARALLELISM);
+    }
+
+    private static <T> List<T> runAll(List<Callable<T>> tasks, int parallelism) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> tagNames(int count) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add("tag-" + random.nextInt(Math.max(1, config.tags())));
+        }
+        return names;
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private String sentence(int words) {
+        String text = words(words);
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1) + ".";
+    }
+
+    private String markdown(int words) {
+        StringBuilder text = new StringBuilder("## ").append(sentence(4)).append("\n\n");
+        while (words > 0) {
+            int paragraph = Math.min(words, 40 + random.nextInt(60));
+            text.append(sentence(paragraph)).append("\n\n");
+            if (random.nextInt(4) == 0) {
+                text.append("```java\nvar result = service.").append(words(1)).append("();\n```\n\n");
+            }
+            words -= paragraph;
+        }
+        return text.toString();
+    }
+
+    /**
+     * Published posts the workload picks from
+     */
+    public record SeedData(List<Long> postIds, List<String> postSlugs) {
+    }
+}
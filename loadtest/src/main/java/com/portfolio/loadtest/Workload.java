@@ -0,0 +1,90 @@
+package com.portfolio.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Weighted mix of endpoints, e.g. "posts=30,post=30,comments=20,comment=5,gallery=13,login=2".
+ * Each draw picks an endpoint by weight and builds a request against a random seeded post.
+ */
+public class Workload {
+
+    public static final String DEFAULT_MIX = "posts=30,post=30,comments=20,comment=5,gallery=13,login=2";
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Function<ThreadLocalRandom, HttpRequest>> builders = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public Workload(String mix, ApiClient client, Seeder.SeedData data, LoadTestConfig config, String token) {
+        // A logged-in browser sends its token on every request, reads included
+        String readToken = config.authReads() ? token : null;
+        Map<String, Function<ThreadLocalRandom, HttpRequest>> endpoints = new LinkedHashMap<>();
+        endpoints.put("posts", random -> client.get("/api/posts", readToken));
+        endpoints.put("post", random -> client.get("/api/posts/slug/" + pick(data.postSlugs(), random), readToken));
+        endpoints.put("comments", random -> client.get("/api/comments/post/" + pick(data.postIds(), random) + "/page",
+                readToken));
+        endpoints.put("comment", random -> client.postJson("/api/comments",
+                Map.of("postId", pick(data.postIds(), random), "content", "Load test comment " + random.nextInt()),
+                token));
+        endpoints.put("gallery", random -> client.get("/api/gallery", readToken));
+        endpoints.put("projects", random -> client.get("/api/projects", readToken));
+        endpoints.put("home", random -> client.get("/api/home", readToken));
+        endpoints.put("login", random -> client.postJson("/api/auth/login",
+                Map.of("username", config.username(), "password", config.password()), null));
+
+        List<Integer> weights = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2 || !endpoints.containsKey(pair[0])) {
+                throw new IllegalArgumentException("Bad mix entry '" + part + "'; endpoints are " + endpoints.keySet());
+            }
+            int weight = Integer.parseInt(pair[1]);
+            if (weight > 0) {
+                names.add(pair[0]);
+                builders.add(endpoints.get(pair[0]));
+                weights.add(weight);
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no endpoints with a positive weight");
+        }
+        cumulativeWeights = new int[weights.size()];
+        int sum = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            sum += weights.get(i);
+            cumulativeWeights[i] = sum;
+        }
+        totalWeight = sum;
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * Index into names() of the next endpoint to call
+     */
+    public int next(ThreadLocalRandom random) {
+        int draw = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    public HttpRequest request(int endpoint, ThreadLocalRandom random) {
+        return builders.get(endpoint).apply(random);
+    }
+
+    private static <T> T pick(List<T> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}